@@ -0,0 +1,162 @@
+package com.excel.benchmark;
+
+import com.excel.ExcelUtils.Excel;
+import com.excel.ExcelUtilsMerge;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+
+/**
+ * 基准测试数据，按行号生成，相同参数每次生成的内容一致，不在内存中保留整表
+ *
+ * @author: MingWei Yang
+ */
+public class BenchmarkData {
+
+    /**
+     * 表结构
+     */
+    public enum Shape {
+        NARROW, WIDE
+    }
+
+    /**
+     * 合并单元格的行跨度
+     */
+    public static final int MERGE_SPAN = 5;
+
+    private static final String[] NAMES = {"张伟", "王芳", "李娜", "刘洋", "陈静", "杨磊", "赵敏", "黄晓明", "周杰", "吴秀英"};
+
+    private static final String[] STATUSES = {"待审核", "已审核", "已发货", "已完成", "已取消"};
+
+    private static final String[] REGIONS = {"华东", "华南", "华北", "西南", "西北", "东北"};
+
+    private static final String[] DEPARTMENTS = {"销售一部", "销售二部", "渠道部", "大客户部"};
+
+    private static final String[] PROVINCES = {"浙江省", "广东省", "江苏省", "四川省", "北京市", "上海市"};
+
+    private static final String[] CITIES = {"杭州市", "深圳市", "南京市", "成都市", "北京市", "上海市", "宁波市", "广州市"};
+
+    private static final String[] CHANNELS = {"线上", "门店", "代理商"};
+
+    private static final long BASE_TIME = 1609459200000L;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * 导出数据
+     *
+     * @param shape
+     * @param rows
+     * @param merges 是否每MERGE_SPAN行合并首列
+     * @return
+     */
+    public static Excel<?> excel(Shape shape, int rows, boolean merges) {
+        Excel excel = new Excel();
+        if (Shape.NARROW == shape) {
+            excel.setCls(NarrowRow.class);
+            excel.setSource(source(rows, BenchmarkData::narrow));
+        } else {
+            excel.setCls(WideRow.class);
+            excel.setSource(source(rows, BenchmarkData::wide));
+        }
+        if (merges) {
+            excel.setMergeList(merges(rows));
+        }
+        return excel;
+    }
+
+    /**
+     * 首列每MERGE_SPAN行合并一次，数据从第2行开始（第1行为表头）
+     *
+     * @param rows
+     * @return
+     */
+    public static List<ExcelUtilsMerge> merges(int rows) {
+        List<ExcelUtilsMerge> mergeList = new ArrayList<>(rows / MERGE_SPAN + 1);
+        for (int first = 1; first + MERGE_SPAN - 1 <= rows; first += MERGE_SPAN) {
+            ExcelUtilsMerge merge = new ExcelUtilsMerge();
+            merge.setFirstRow(first);
+            merge.setLastRow(first + MERGE_SPAN - 1);
+            merge.setFirstColumn(0);
+            merge.setLastColumn(0);
+            merge.setContent("分组" + (first / MERGE_SPAN + 1));
+            mergeList.add(merge);
+        }
+        return mergeList;
+    }
+
+    public static NarrowRow narrow(int i) {
+        NarrowRow row = new NarrowRow();
+        row.setId(i + 1L);
+        row.setName(NAMES[i % NAMES.length]);
+        row.setStatus(STATUSES[i % STATUSES.length]);
+        row.setQuantity(i % 100);
+        row.setAmount(BigDecimal.valueOf(i * 37L % 1000000, 2));
+        row.setCreateTime(new Date(BASE_TIME + i * 60000L));
+        return row;
+    }
+
+    public static WideRow wide(int i) {
+        WideRow row = new WideRow();
+        row.setId(i + 1L);
+        row.setOrderNo("SO" + (20210000000L + i));
+        row.setCustomer(NAMES[i % NAMES.length] + "贸易有限公司");
+        row.setRegion(REGIONS[i % REGIONS.length]);
+        row.setDepartment(DEPARTMENTS[i % DEPARTMENTS.length]);
+        row.setStatus(STATUSES[i % STATUSES.length]);
+        row.setQuantity(i % 100 + 1);
+        row.setPrice(i % 1000 / 10.0);
+        row.setAmount(BigDecimal.valueOf(i * 37L % 1000000, 2));
+        row.setTax(BigDecimal.valueOf(i * 5L % 100000, 2));
+        row.setDiscount(i % 10 / 10.0);
+        row.setPoints(i * 3L);
+        row.setOrderDate(LocalDate.of(2021, 1, 1).plusDays(i % 365));
+        row.setCreateTime(new Date(BASE_TIME + i * 60000L));
+        row.setUpdateTime(new Date(BASE_TIME + i * 90000L));
+        row.setProvince(PROVINCES[i % PROVINCES.length]);
+        row.setCity(CITIES[i % CITIES.length]);
+        row.setAddress(PROVINCES[i % PROVINCES.length] + CITIES[i % CITIES.length] + "人民路" + (i % 500 + 1) + "号" + (i % 30 + 1) + "楼");
+        row.setPhone("138" + (10000000 + i % 90000000));
+        row.setSalesman(NAMES[(i / 7) % NAMES.length]);
+        row.setChannel(CHANNELS[i % CHANNELS.length]);
+        row.setStock(i % 5000);
+        row.setWeight(i % 200 / 4.0);
+        row.setRemark(i % 3 == 0 ? "加急，请尽快安排发货" : null);
+        return row;
+    }
+
+    /**
+     * 按行号生成数据的数据源，可重复迭代
+     *
+     * @param rows
+     * @param generator
+     * @param <T>
+     * @return
+     */
+    private static <T> Iterable<T> source(int rows, IntFunction<T> generator) {
+        return () -> new Iterator<T>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < rows;
+            }
+
+            @Override
+            public T next() {
+                if (this.index >= rows) {
+                    throw new NoSuchElementException();
+                }
+                return generator.apply(this.index++);
+            }
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package com.excel.benchmark;
+
+import java.io.OutputStream;
+
+/**
+ * 只计数不保存的输出流，用于统计导出文件大小
+ *
+ * @author: MingWei Yang
+ */
+public class CountingOutputStream extends OutputStream {
+
+    private long count;
+
+    @Override
+    public void write(int b) {
+        this.count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        this.count += len;
+    }
+
+    public long getCount() {
+        return this.count;
+    }
+}
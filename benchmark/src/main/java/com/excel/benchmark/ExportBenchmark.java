@@ -0,0 +1,122 @@
+package com.excel.benchmark;
+
+import com.excel.ExcelCsvWriter;
+import com.excel.ExcelTempStorage;
+import com.excel.ExcelUtils;
+import com.excel.ExcelUtils.Excel;
+import com.excel.ExcelUtils.ExcelEngine;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 导出基准：各导出引擎的吞吐量与输出文件大小（outputBytes）
+ * <p>
+ * 分配速率使用-prof gc查看
+ *
+ * @author: MingWei Yang
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ExportBenchmark {
+
+    @Param({"NARROW", "WIDE"})
+    public BenchmarkData.Shape shape;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"false", "true"})
+    public boolean merges;
+
+    private Excel<?> excel;
+
+    private Excel<?> parallelExcel;
+
+    /**
+     * 最近一次导出的文件大小
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Output {
+
+        public long outputBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.outputBytes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.excel = BenchmarkData.excel(this.shape, this.rows, this.merges);
+        this.parallelExcel = BenchmarkData.excel(this.shape, this.rows, this.merges);
+        this.parallelExcel.setParallelism(4);
+    }
+
+    @Benchmark
+    public long sxssf(Output output) {
+        return this.write(output, ExcelEngine.SXSSF, this.excel);
+    }
+
+    @Benchmark
+    public long sxssfPlainTempFiles(Output output) {
+        CountingOutputStream out = new CountingOutputStream();
+        ExcelUtils.writeExcel(out, ExcelTempStorage.plain(null), "benchmark", this.excel);
+        output.outputBytes = out.getCount();
+        return out.getCount();
+    }
+
+    @Benchmark
+    public long sxssfParallel(Output output) {
+        return this.write(output, ExcelEngine.SXSSF, this.parallelExcel);
+    }
+
+    @Benchmark
+    public long xml(Output output) {
+        return this.write(output, ExcelEngine.XML, this.excel);
+    }
+
+    @Benchmark
+    public long xmlSharedStrings(Output output) {
+        return this.write(output, ExcelEngine.XML_SHARED_STRINGS, this.excel);
+    }
+
+    @Benchmark
+    public long csv(Output output) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        ExcelCsvWriter.write(writer, this.excel);
+        writer.flush();
+        output.outputBytes = out.getCount();
+        return out.getCount();
+    }
+
+    private long write(Output output, ExcelEngine engine, Excel<?> excel) {
+        CountingOutputStream out = new CountingOutputStream();
+        ExcelUtils.writeExcel(out, engine, "benchmark", excel);
+        output.outputBytes = out.getCount();
+        return out.getCount();
+    }
+}
@@ -0,0 +1,76 @@
+package com.excel.benchmark;
+
+import com.excel.ExcelUtils;
+import com.excel.ExcelUtils.Excel;
+import com.excel.ExcelUtils.ExcelEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 导入基准：DOM读取、流式读取、并行绑定与校验读取
+ * <p>
+ * 文件在Trial开始时由直写引擎生成，分配速率使用-prof gc查看
+ *
+ * @author: MingWei Yang
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ImportBenchmark {
+
+    @Param({"NARROW", "WIDE"})
+    public BenchmarkData.Shape shape;
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private Class<?> cls;
+
+    private MockMultipartFile file;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Excel<?> excel = BenchmarkData.excel(this.shape, this.rows, false);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExcelUtils.writeExcel(out, ExcelEngine.XML, "benchmark", excel);
+        this.cls = excel.getCls();
+        this.file = new MockMultipartFile("file", "benchmark.xlsx", null, out.toByteArray());
+    }
+
+    @Benchmark
+    public int read() {
+        return ExcelUtils.read(this.file, this.cls).size();
+    }
+
+    @Benchmark
+    public int readStream() {
+        return ExcelUtils.readStream(this.file, this.cls).size();
+    }
+
+    @Benchmark
+    public int readParallel() {
+        return ExcelUtils.readParallel(this.file, this.cls).size();
+    }
+
+    @Benchmark
+    public int readValidated() {
+        return ExcelUtils.readValidated(this.file, this.cls).getData().size();
+    }
+}
@@ -0,0 +1,69 @@
+package com.excel.benchmark;
+
+import com.excel.ExcelUtils.ExcelWriter;
+import com.excel.ExcelUtilsMerge;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 合并单元格基准：批量合并与逐个合并
+ *
+ * @author: MingWei Yang
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class MergeBenchmark {
+
+    @Param({"1000", "10000"})
+    public int regions;
+
+    private List<ExcelUtilsMerge> mergeList;
+
+    private ExcelWriter writer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.mergeList = BenchmarkData.merges(this.regions * BenchmarkData.MERGE_SPAN);
+    }
+
+    @Setup(Level.Invocation)
+    public void newWriter() {
+        this.writer = new ExcelWriter(true);
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeWriter() {
+        this.writer.close();
+    }
+
+    @Benchmark
+    public ExcelWriter mergeBulk() {
+        return this.writer.merge(this.mergeList);
+    }
+
+    @Benchmark
+    public ExcelWriter mergeEach() {
+        for (ExcelUtilsMerge merge : this.mergeList) {
+            this.writer.merge(merge.getFirstRow(), merge.getLastRow(), merge.getFirstColumn(), merge.getLastColumn(), merge.getContent(), merge.isSetHeaderStyle());
+        }
+        return this.writer;
+    }
+}
@@ -0,0 +1,36 @@
+package com.excel.benchmark;
+
+import com.excel.ExcelUtils.ExcelColumn;
+import com.excel.ExcelUtils.ExcelName;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * 窄表数据：6列
+ *
+ * @author: MingWei Yang
+ */
+@Data
+@ExcelName("窄表")
+public class NarrowRow {
+
+    @ExcelColumn(value = "编号", col = 0)
+    private long id;
+
+    @ExcelColumn(value = "姓名", col = 1)
+    private String name;
+
+    @ExcelColumn(value = "状态", col = 2)
+    private String status;
+
+    @ExcelColumn(value = "数量", col = 3)
+    private int quantity;
+
+    @ExcelColumn(value = "金额", col = 4)
+    private BigDecimal amount;
+
+    @ExcelColumn(value = "创建时间", col = 5, width = 20)
+    private Date createTime;
+}
@@ -0,0 +1,91 @@
+package com.excel.benchmark;
+
+import com.excel.ExcelUtils.ExcelColumn;
+import com.excel.ExcelUtils.ExcelName;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Date;
+
+/**
+ * 宽表数据：24列，基本类型、字符串、小数、日期混合
+ *
+ * @author: MingWei Yang
+ */
+@Data
+@ExcelName("宽表")
+public class WideRow {
+
+    @ExcelColumn(value = "编号", col = 0)
+    private long id;
+
+    @ExcelColumn(value = "订单号", col = 1, width = 22)
+    private String orderNo;
+
+    @ExcelColumn(value = "客户名称", col = 2, width = 20)
+    private String customer;
+
+    @ExcelColumn(value = "区域", col = 3)
+    private String region;
+
+    @ExcelColumn(value = "部门", col = 4)
+    private String department;
+
+    @ExcelColumn(value = "状态", col = 5)
+    private String status;
+
+    @ExcelColumn(value = "数量", col = 6)
+    private int quantity;
+
+    @ExcelColumn(value = "单价", col = 7)
+    private double price;
+
+    @ExcelColumn(value = "金额", col = 8)
+    private BigDecimal amount;
+
+    @ExcelColumn(value = "税额", col = 9)
+    private BigDecimal tax;
+
+    @ExcelColumn(value = "折扣", col = 10)
+    private double discount;
+
+    @ExcelColumn(value = "积分", col = 11)
+    private long points;
+
+    @ExcelColumn(value = "下单日期", col = 12)
+    private LocalDate orderDate;
+
+    @ExcelColumn(value = "创建时间", col = 13, width = 20)
+    private Date createTime;
+
+    @ExcelColumn(value = "更新时间", col = 14, width = 20)
+    private Date updateTime;
+
+    @ExcelColumn(value = "省份", col = 15)
+    private String province;
+
+    @ExcelColumn(value = "城市", col = 16)
+    private String city;
+
+    @ExcelColumn(value = "地址", col = 17, width = 40)
+    private String address;
+
+    @ExcelColumn(value = "联系电话", col = 18)
+    private String phone;
+
+    @ExcelColumn(value = "销售员", col = 19)
+    private String salesman;
+
+    @ExcelColumn(value = "渠道", col = 20)
+    private String channel;
+
+    @ExcelColumn(value = "库存", col = 21)
+    private int stock;
+
+    @ExcelColumn(value = "重量", col = 22)
+    private double weight;
+
+    @ExcelColumn(value = "备注", col = 23, width = 40)
+    private String remark;
+}
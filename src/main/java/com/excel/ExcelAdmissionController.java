@@ -0,0 +1,278 @@
+package com.excel;
+
+import com.excel.ExcelUtils.Excel;
+import com.excel.ExcelUtils.ExcelEngine;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 导入导出内存预算控制
+ * <p>
+ * 按行数、列数、合并单元格与上传文件大小估算每次请求占用的堆内存，
+ * 已占用的预算不足时按到达顺序排队等待，有请求排队时后到的请求即使预算足够也排在队尾，
+ * 避免小请求持续占用预算使大请求饿死。超过等待时间或单次估算超过总预算时拒绝。
+ * 已持有预算的线程再次申请时不重复计入，外层调用方可先行申请，内层导入导出不再排队。
+ * 默认不限制，通过{@link #setDefault}设置全局预算
+ *
+ * @author: MingWei Yang
+ */
+public class ExcelAdmissionController {
+
+    /**
+     * SXSSF窗口内每个单元格的估算字节数（Cell、值、样式引用与行对象分摊）
+     */
+    private static final long CELL_BYTES = 256;
+
+    /**
+     * 每个合并区域的估算字节数
+     */
+    private static final long MERGE_BYTES = 160;
+
+    /**
+     * 工作簿、样式与缓冲区的固定开销
+     */
+    private static final long WORKBOOK_BYTES = 4L * 1024 * 1024;
+
+    /**
+     * 共享字符串表每项的估算字节数
+     */
+    private static final long SHARED_STRING_BYTES = 96;
+
+    /**
+     * 整表读取时堆内存与xlsx文件大小之比
+     */
+    private static final long DOM_READ_FACTOR = 40;
+
+    /**
+     * 流式读取时堆内存与xlsx文件大小之比（按文件随机读取zip条目，只有共享字符串表常驻内存）
+     */
+    private static final long STREAM_READ_FACTOR = 2;
+
+    /**
+     * 并行写出时每批行数，与ExcelWriter一致
+     */
+    private static final int ROW_BATCH_SIZE = 512;
+
+    private static volatile ExcelAdmissionController defaultController = new ExcelAdmissionController(0, Duration.ZERO);
+
+    private final long budgetBytes;
+
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+
+    private final Condition released = this.lock.newCondition();
+
+    /**
+     * 排队等待的请求，只有队首可以占用预算
+     */
+    private final Deque<Object> waiters = new ArrayDeque<>();
+
+    /**
+     * 当前线程持有的预算
+     */
+    private final ThreadLocal<Permit> held = new ThreadLocal<>();
+
+    private long usedBytes;
+
+    private volatile int queueDepth;
+
+    /**
+     * @param budgetBytes 堆内存预算，小于等于0时不限制
+     * @param maxWait     预算不足时的最长等待时间，为0时直接拒绝
+     */
+    public ExcelAdmissionController(long budgetBytes, Duration maxWait) {
+        this.budgetBytes = budgetBytes;
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    public static ExcelAdmissionController getDefault() {
+        return defaultController;
+    }
+
+    /**
+     * 设置全局预算控制
+     *
+     * @param controller
+     */
+    public static void setDefault(ExcelAdmissionController controller) {
+        defaultController = controller;
+    }
+
+    /**
+     * 申请内存预算，使用完毕后在同一线程关闭返回的Permit
+     *
+     * @param costBytes 估算字节数
+     * @return 当前线程已持有预算时返回不占用预算的Permit
+     */
+    public Permit acquire(long costBytes) {
+        if (this.budgetBytes <= 0 || null != this.held.get()) {
+            return new Permit(null, 0);
+        }
+        long cost = Math.max(costBytes, 0);
+        if (cost > this.budgetBytes) {
+            throw new RuntimeException("数据量过大，超出系统处理能力，请缩小范围后再试");
+        }
+        this.lock.lock();
+        try {
+            if (!this.waiters.isEmpty() || this.usedBytes + cost > this.budgetBytes) {
+                this.await(cost);
+            }
+            this.usedBytes += cost;
+            Permit permit = new Permit(this, cost);
+            this.held.set(permit);
+            return permit;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * 排队直到成为队首且预算足够
+     *
+     * @param cost
+     */
+    private void await(long cost) {
+        if (this.maxWaitNanos <= 0) {
+            throw new RuntimeException("系统繁忙，请稍后再试");
+        }
+        Object waiter = new Object();
+        this.waiters.addLast(waiter);
+        this.queueDepth = this.waiters.size();
+        try {
+            long remaining = this.maxWaitNanos;
+            while (this.waiters.peekFirst() != waiter || this.usedBytes + cost > this.budgetBytes) {
+                if (remaining <= 0) {
+                    throw new RuntimeException("系统繁忙，请稍后再试");
+                }
+                remaining = this.released.awaitNanos(remaining);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("等待处理被中断", ex);
+        } finally {
+            this.waiters.remove(waiter);
+            this.queueDepth = this.waiters.size();
+            //队首变化，唤醒新的队首检查预算
+            this.released.signalAll();
+        }
+    }
+
+    private void release(long cost) {
+        this.held.remove();
+        this.lock.lock();
+        try {
+            this.usedBytes -= cost;
+            this.released.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * 排队等待的请求数
+     *
+     * @return
+     */
+    public int getQueueDepth() {
+        return this.queueDepth;
+    }
+
+    /**
+     * 已占用的预算字节数
+     *
+     * @return
+     */
+    public long getUsedBytes() {
+        this.lock.lock();
+        try {
+            return this.usedBytes;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public long getBudgetBytes() {
+        return this.budgetBytes;
+    }
+
+    public long getMaxWait(TimeUnit unit) {
+        return unit.convert(this.maxWaitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 估算导出占用的堆内存
+     *
+     * @param engine
+     * @param excels
+     * @return
+     */
+    public static long estimateExport(ExcelEngine engine, Excel... excels) {
+        long cost = WORKBOOK_BYTES;
+        if (ExcelEngine.XML_SHARED_STRINGS == engine) {
+            cost += ExcelSharedStrings.DEFAULT_MAX_SIZE * SHARED_STRING_BYTES;
+        }
+        for (Excel excel : excels) {
+            int columns = ExcelWritePlan.of(excel.getCls()).getColumnCount();
+            int merges = null == excel.getMergeList() ? 0 : excel.getMergeList().size();
+            cost += merges * MERGE_BYTES;
+            if (ExcelEngine.SXSSF != engine) {
+                continue;
+            }
+            //SXSSF只在内存中保留窗口内的行，合并单元格会扩大窗口，最多到ExcelWriter.MAX_MERGE_WINDOW_SIZE行
+            long windowRows = ExcelUtils.getWindowSize(excel.getMergeList());
+            if (null == excel.getSource() && null != excel.getColl()) {
+                windowRows = Math.min(windowRows, excel.getColl().size() + 1);
+            }
+            if (excel.getParallelism() > 1) {
+                windowRows += (long) excel.getParallelism() * 2 * ROW_BATCH_SIZE;
+            }
+            cost += windowRows * columns * CELL_BYTES;
+        }
+        return cost;
+    }
+
+    /**
+     * 估算读取占用的堆内存
+     *
+     * @param fileSize  上传文件字节数
+     * @param streaming 是否流式读取
+     * @return
+     */
+    public static long estimateRead(long fileSize, boolean streaming) {
+        return WORKBOOK_BYTES + fileSize * (streaming ? STREAM_READ_FACTOR : DOM_READ_FACTOR);
+    }
+
+    /**
+     * 已申请的预算，关闭时归还
+     */
+    public static class Permit implements AutoCloseable {
+
+        private ExcelAdmissionController controller;
+
+        private final long cost;
+
+        Permit(ExcelAdmissionController controller, long cost) {
+            this.controller = controller;
+            this.cost = cost;
+        }
+
+        public long getCost() {
+            return this.cost;
+        }
+
+        @Override
+        public void close() {
+            ExcelAdmissionController owner = this.controller;
+            this.controller = null;
+            if (null != owner) {
+                owner.release(this.cost);
+            }
+        }
+    }
+}
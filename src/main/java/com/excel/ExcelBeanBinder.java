@@ -0,0 +1,339 @@
+package com.excel;
+
+import cn.hutool.core.util.ClassUtil;
+import com.excel.ExcelUtils.ExcelColumn;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Excel导入列绑定
+ * <p>
+ * 每个Class只解析一次{@link ExcelColumn}，按col下标预先生成setter和类型转换，
+ * 读取时每个单元格只需一次数组下标定位
+ *
+ * @author: MingWei Yang
+ */
+public class ExcelBeanBinder<T> {
+
+    /**
+     * 绑定缓存，应用生命周期内有效
+     */
+    private static final Map<Class<?>, ExcelBeanBinder<?>> CACHE = new ConcurrentHashMap<>();
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final MethodHandle FIELD_SET;
+
+    static {
+        try {
+            FIELD_SET = MethodHandles.lookup().findVirtual(Field.class, "set", SETTER_TYPE);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Class<T> cls;
+
+    /**
+     * 以col为下标的列绑定，未映射的列为null
+     */
+    private final ColumnBinding[] columns;
+
+    private ExcelBeanBinder(Class<T> cls) {
+        this.cls = cls;
+        this.columns = compile(cls);
+    }
+
+    /**
+     * 获取Class对应的列绑定
+     *
+     * @param cls
+     * @param <T>
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ExcelBeanBinder<T> of(Class<T> cls) {
+        return (ExcelBeanBinder<T>) CACHE.computeIfAbsent(cls, key -> new ExcelBeanBinder<>(key));
+    }
+
+    public Class<T> getCls() {
+        return this.cls;
+    }
+
+    /**
+     * 映射的最大列数
+     *
+     * @return
+     */
+    public int getColumnCount() {
+        return this.columns.length;
+    }
+
+    /**
+     * 列是否映射了字段
+     *
+     * @param colIndex
+     * @return
+     */
+    public boolean isMapped(int colIndex) {
+        return colIndex >= 0 && colIndex < this.columns.length && null != this.columns[colIndex];
+    }
+
+    /**
+     * 创建对象
+     *
+     * @return
+     */
+    public T newInstance() {
+        try {
+            return this.cls.newInstance();
+        } catch (Exception ex) {
+            throw new RuntimeException("创建对象失败：" + this.cls.getName(), ex);
+        }
+    }
+
+    /**
+     * 设置属性
+     *
+     * @param rowIndex
+     * @param colIndex
+     * @param value
+     * @param obj
+     */
+    public void bind(int rowIndex, int colIndex, Object value, T obj) {
+        if (colIndex < 0 || colIndex >= this.columns.length) {
+            return;
+        }
+        for (ColumnBinding binding = this.columns[colIndex]; null != binding; binding = binding.next) {
+            ExcelColumn column = binding.column;
+            if (ObjectUtil.isNotEmpty(value)) {
+                boolean converted;
+                try {
+                    converted = binding.set(obj, value);
+                } catch (Throwable e) {
+                    converted = false;
+                }
+                if (!converted) {
+                    throw new RuntimeException("第" + (rowIndex + 2) + "行：" + column.value() + "字段读取错误，请检查文件内容是否正确 " + value);
+                }
+            } else if (column.required()) {
+                throw new RuntimeException(column.value() + "必填");
+            }
+        }
+    }
+
+    /**
+     * 设置属性，出错时记录到errors，不抛出异常。转换失败由{@link ExcelCellConverter#failed()}返回，不创建异常对象
+     *
+     * @param rowIndex Sheet中的行下标（从0开始），记录到errors
+     * @param colIndex
+     * @param value
+     * @param obj
+     * @param errors
+     * @return 是否设置成功
+     */
+    public boolean bind(int rowIndex, int colIndex, Object value, T obj, ExcelReadErrors errors) {
+        if (colIndex < 0 || colIndex >= this.columns.length) {
+            return true;
+        }
+        boolean success = true;
+        for (ColumnBinding binding = this.columns[colIndex]; null != binding; binding = binding.next) {
+            ExcelColumn column = binding.column;
+            if (ObjectUtil.isNotEmpty(value)) {
+                boolean converted;
+                try {
+                    converted = binding.set(obj, value);
+                } catch (Throwable e) {
+                    //自定义转换器抛出的异常
+                    converted = false;
+                }
+                if (!converted) {
+                    errors.add(rowIndex, colIndex, ExcelReadErrors.CONVERT, column.value(), value);
+                    success = false;
+                }
+            } else if (column.required()) {
+                errors.add(rowIndex, colIndex, ExcelReadErrors.REQUIRED, column.value(), value);
+                success = false;
+            }
+        }
+        return success;
+    }
+
+    /**
+     * 校验未出现值的必填列
+     *
+     * @param rowIndex
+     * @param cellCount 行内单元格数量，超出部分不校验
+     * @param filled    以col为下标，已设置值的列
+     */
+    public void checkRequired(int rowIndex, int cellCount, boolean[] filled) {
+        int end = Math.min(cellCount, this.columns.length);
+        for (int colIndex = 0; colIndex < end; colIndex++) {
+            if (filled[colIndex]) {
+                continue;
+            }
+            for (ColumnBinding binding = this.columns[colIndex]; null != binding; binding = binding.next) {
+                if (binding.column.required()) {
+                    throw new RuntimeException(binding.column.value() + "必填");
+                }
+            }
+        }
+    }
+
+    /**
+     * 校验未出现值的必填列，缺失时记录到errors，不抛出异常
+     *
+     * @param rowIndex  Sheet中的行下标（从0开始），记录到errors
+     * @param cellCount 行内单元格数量，超出部分不校验
+     * @param filled    以col为下标，已设置值的列
+     * @param errors
+     * @return 是否校验通过
+     */
+    public boolean checkRequired(int rowIndex, int cellCount, boolean[] filled, ExcelReadErrors errors) {
+        boolean success = true;
+        int end = Math.min(cellCount, this.columns.length);
+        for (int colIndex = 0; colIndex < end; colIndex++) {
+            if (filled[colIndex]) {
+                continue;
+            }
+            for (ColumnBinding binding = this.columns[colIndex]; null != binding; binding = binding.next) {
+                if (binding.column.required()) {
+                    errors.add(rowIndex, colIndex, ExcelReadErrors.REQUIRED, binding.column.value(), null);
+                    success = false;
+                }
+            }
+        }
+        return success;
+    }
+
+    /**
+     * 解析@ExcelColumn字段
+     *
+     * @param cls
+     * @return
+     */
+    private static ColumnBinding[] compile(Class<?> cls) {
+        Field[] fields = cls.getDeclaredFields();
+        int maxCol = -1;
+        for (Field field : fields) {
+            ExcelColumn column = field.getAnnotation(ExcelColumn.class);
+            if (null != column && !Modifier.isStatic(field.getModifiers())) {
+                maxCol = Math.max(maxCol, column.col());
+            }
+        }
+        ColumnBinding[] columns = new ColumnBinding[maxCol + 1];
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (Field field : fields) {
+            ExcelColumn column = field.getAnnotation(ExcelColumn.class);
+            if (null == column || Modifier.isStatic(field.getModifiers()) || column.col() < 0) {
+                continue;
+            }
+            ColumnBinding binding = new ColumnBinding(field, column, unreflectSetter(lookup, field));
+            //同一列映射多个字段时按声明顺序依次设置
+            ColumnBinding tail = columns[column.col()];
+            if (null == tail) {
+                columns[column.col()] = binding;
+            } else {
+                while (null != tail.next) {
+                    tail = tail.next;
+                }
+                tail.next = binding;
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * 字段setter，final字段无法生成setter，与BeanUtil.setFieldValue一致通过Field.set设置
+     *
+     * @param lookup
+     * @param field
+     * @return
+     */
+    private static MethodHandle unreflectSetter(MethodHandles.Lookup lookup, Field field) {
+        try {
+            field.setAccessible(true);
+            if (Modifier.isFinal(field.getModifiers())) {
+                return FIELD_SET.bindTo(field);
+            }
+            return lookup.unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("无法访问字段：" + field, e);
+        }
+    }
+
+    /**
+     * 单列绑定
+     */
+    static final class ColumnBinding {
+
+        final Field field;
+
+        final ExcelColumn column;
+
+        final MethodHandle setter;
+
+        final Class<?> type;
+
+        /**
+         * 按字段类型或@ExcelColumn#converter确定的转换
+         */
+        final ExcelCellConverter<?> converter;
+
+        ColumnBinding next;
+
+        ColumnBinding(Field field, ExcelColumn column, MethodHandle setter) {
+            this.field = field;
+            this.column = column;
+            this.setter = setter;
+            this.type = field.getType();
+            this.converter = ExcelCellConverter.class == column.converter()
+                    ? ExcelCellConverters.of(this.type)
+                    : newConverter(column.converter());
+        }
+
+        /**
+         * 类型转换
+         *
+         * @param value
+         * @return 无法转换时为{@link ExcelCellConverter#failed()}
+         */
+        Object convert(Object value) {
+            if (null == value) {
+                return ClassUtil.getDefaultValue(this.type);
+            }
+            return this.converter.convert(value);
+        }
+
+        /**
+         * 转换并设置属性
+         *
+         * @param obj
+         * @param value
+         * @return 是否转换成功，失败时不设置
+         * @throws Throwable
+         */
+        boolean set(Object obj, Object value) throws Throwable {
+            Object converted = this.convert(value);
+            if (ExcelCellConverter.FAILED == converted) {
+                return false;
+            }
+            this.setter.invokeExact(obj, converted);
+            return true;
+        }
+
+        private static ExcelCellConverter<?> newConverter(Class<? extends ExcelCellConverter> converterClass) {
+            try {
+                return converterClass.newInstance();
+            } catch (Exception ex) {
+                throw new IllegalStateException("创建转换器失败：" + converterClass.getName(), ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.excel;
+
+/**
+ * 导入单元格值转换
+ * <p>
+ * 通过{@link ExcelUtils.ExcelColumn#converter()}指定，实现类需有无参构造方法，每个字段只创建一个实例，需线程安全。
+ * 无法转换时返回{@link #failed()}，不需要抛出异常，由读取方按字段读取错误处理
+ *
+ * @author: MingWei Yang
+ */
+public interface ExcelCellConverter<T> {
+
+    /**
+     * 转换失败标记
+     */
+    Object FAILED = new Object();
+
+    /**
+     * 转换单元格值
+     *
+     * @param value 读取到的单元格值，不为空：String、Long、Double、Boolean或日期
+     * @return 字段值，无法转换时为{@link #failed()}
+     */
+    T convert(Object value);
+
+    /**
+     * 转换失败时的返回值
+     *
+     * @param <T>
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T failed() {
+        return (T) FAILED;
+    }
+}
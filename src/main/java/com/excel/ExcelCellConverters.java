@@ -0,0 +1,131 @@
+package com.excel;
+
+import cn.hutool.core.convert.BasicType;
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.ClassUtil;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 内置单元格值转换
+ * <p>
+ * 按字段类型一次确定转换方式，读取到的String、Long、Double、日期直接转换为常用类型，
+ * 其他情况与BeanUtil.setFieldValue一致交给Convert.convert。
+ * 不含数字的文本转为数字或日期时直接返回{@link ExcelCellConverter#failed()}，不经过Convert的异常
+ *
+ * @author: MingWei Yang
+ */
+public class ExcelCellConverters {
+
+    private ExcelCellConverters() {
+    }
+
+    /**
+     * 获取字段类型对应的转换
+     *
+     * @param type
+     * @return
+     */
+    public static ExcelCellConverter<?> of(Class<?> type) {
+        Class<?> wrapType = BasicType.wrap(type);
+        if (wrapType == String.class) {
+            return value -> value instanceof String ? value : convert(type, value);
+        }
+        if (wrapType == Integer.class) {
+            return value -> value instanceof Number ? (Object) ((Number) value).intValue() : convertDigits(type, value);
+        }
+        if (wrapType == Long.class) {
+            return value -> value instanceof Number ? (Object) ((Number) value).longValue() : convertDigits(type, value);
+        }
+        if (wrapType == Double.class) {
+            return value -> value instanceof Number ? (Object) ((Number) value).doubleValue() : convertDigits(type, value);
+        }
+        if (wrapType == BigDecimal.class) {
+            return value -> {
+                if (value instanceof Long || value instanceof Integer) {
+                    return BigDecimal.valueOf(((Number) value).longValue());
+                }
+                if (value instanceof Double) {
+                    return BigDecimal.valueOf((Double) value);
+                }
+                return convertDigits(type, value);
+            };
+        }
+        if (wrapType == Boolean.class) {
+            return value -> value instanceof Boolean ? value : convert(type, value);
+        }
+        if (wrapType == LocalDate.class) {
+            return value -> value instanceof Date
+                    ? ((Date) value).toInstant().atZone(ZoneId.systemDefault()).toLocalDate()
+                    : convertDigits(type, value);
+        }
+        if (wrapType == LocalDateTime.class) {
+            return value -> value instanceof Date
+                    ? LocalDateTime.ofInstant(((Date) value).toInstant(), ZoneId.systemDefault())
+                    : convertDigits(type, value);
+        }
+        if (wrapType == Date.class) {
+            return value -> value instanceof Date ? value : convertDigits(type, value);
+        }
+        if (type.isEnum()) {
+            Map<String, Object> constants = new HashMap<>();
+            for (Object constant : type.getEnumConstants()) {
+                constants.put(((Enum<?>) constant).name(), constant);
+            }
+            return value -> {
+                Object constant = value instanceof String ? constants.get(value) : null;
+                return null != constant ? constant : convert(type, value);
+            };
+        }
+        return value -> convert(type, value);
+    }
+
+    /**
+     * 转为数字或日期，不含数字的文本无法转换
+     *
+     * @param type
+     * @param value
+     * @return
+     */
+    private static Object convertDigits(Class<?> type, Object value) {
+        if (value instanceof CharSequence && !hasDigit((CharSequence) value)) {
+            return ExcelCellConverter.failed();
+        }
+        return convert(type, value);
+    }
+
+    private static boolean hasDigit(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isDigit(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 与BeanUtil.setFieldValue一致的类型转换，Convert无法转换或结果与字段类型不符时为{@link ExcelCellConverter#failed()}
+     *
+     * @param type
+     * @param value
+     * @return
+     */
+    static Object convert(Class<?> type, Object value) {
+        if (ClassUtil.isAssignable(type, value.getClass())) {
+            return value;
+        }
+        Object targetValue;
+        try {
+            targetValue = Convert.convert(type, value);
+        } catch (RuntimeException ex) {
+            return ExcelCellConverter.failed();
+        }
+        return null != targetValue && ClassUtil.isAssignable(type, targetValue.getClass()) ? targetValue : ExcelCellConverter.failed();
+    }
+}
@@ -0,0 +1,139 @@
+package com.excel;
+
+import org.apache.poi.ss.usermodel.Sheet;
+
+import java.time.temporal.TemporalAccessor;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * 列宽估算
+ * <p>
+ * 写入单元格时累计每列最大显示宽度（中日韩及全角字符按2计），写出前一次性设置列宽，
+ * 不做字体渲染，也不依赖SXSSF窗口内的行，代替sheet.autoSizeColumn
+ *
+ * @author: MingWei Yang
+ */
+public class ExcelColumnWidth {
+
+    /**
+     * 最大列宽（字符数），与Excel上限一致
+     */
+    private static final int MAX_WIDTH = 255;
+
+    /**
+     * 日期默认格式宽度
+     */
+    private static final int DATE_WIDTH = 16;
+
+    /**
+     * 内容两侧留白
+     */
+    private static final int PADDING = 2;
+
+    private int[] widths = new int[16];
+
+    private int columnCount;
+
+    /**
+     * 记录单元格宽度
+     *
+     * @param colIndex
+     * @param value
+     */
+    public void update(int colIndex, Object value) {
+        if (null == value) {
+            return;
+        }
+        this.updateWidth(colIndex, displayWidth(value));
+    }
+
+    /**
+     * 记录整数单元格宽度
+     *
+     * @param colIndex
+     * @param value
+     */
+    public void update(int colIndex, long value) {
+        int width = value < 0 ? 2 : 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            width++;
+        }
+        this.updateWidth(colIndex, width);
+    }
+
+    /**
+     * 记录小数单元格宽度
+     *
+     * @param colIndex
+     * @param value
+     */
+    public void update(int colIndex, double value) {
+        this.updateWidth(colIndex, Double.toString(value).length());
+    }
+
+    private void updateWidth(int colIndex, int width) {
+        if (colIndex >= this.widths.length) {
+            this.widths = Arrays.copyOf(this.widths, Math.max(colIndex + 1, this.widths.length * 2));
+        }
+        this.columnCount = Math.max(this.columnCount, colIndex + 1);
+        if (width > this.widths[colIndex]) {
+            this.widths[colIndex] = width;
+        }
+    }
+
+    /**
+     * 设置列宽
+     *
+     * @param sheet
+     */
+    public void apply(Sheet sheet) {
+        for (int i = 0; i < this.columnCount; i++) {
+            if (this.widths[i] > 0) {
+                sheet.setColumnWidth(i, Math.min(MAX_WIDTH, this.widths[i] + PADDING) * 256);
+            }
+        }
+    }
+
+    /**
+     * 估算显示宽度，多行文本取最长一行
+     *
+     * @param value
+     * @return
+     */
+    static int displayWidth(Object value) {
+        if (value instanceof Date || value instanceof TemporalAccessor || value instanceof Calendar) {
+            return DATE_WIDTH;
+        }
+        String text = value instanceof CharSequence ? value.toString() : String.valueOf(value);
+        int max = 0;
+        int line = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (ch == '\n') {
+                max = Math.max(max, line);
+                line = 0;
+            } else {
+                line += isWide(ch) ? 2 : 1;
+            }
+        }
+        return Math.max(max, line);
+    }
+
+    /**
+     * 中日韩、全角字符
+     *
+     * @param ch
+     * @return
+     */
+    private static boolean isWide(char ch) {
+        return (ch >= '\u1100' && ch <= '\u115F')
+                || (ch >= '\u2E80' && ch <= '\uA4CF')
+                || (ch >= '\uAC00' && ch <= '\uD7A3')
+                || (ch >= '\uF900' && ch <= '\uFAFF')
+                || (ch >= '\uFE30' && ch <= '\uFE4F')
+                || (ch >= '\uFF00' && ch <= '\uFF60')
+                || (ch >= '\uFFE0' && ch <= '\uFFE6');
+    }
+}
@@ -0,0 +1,173 @@
+package com.excel;
+
+import cn.hutool.core.date.DatePattern;
+import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.util.NumberUtil;
+import com.excel.ExcelUtils.Excel;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * CSV导出
+ * <p>
+ * 复用Excel导出的@ExcelColumn表头与写入计划，直接按行写出文本，不生成xlsx的zip/XML。
+ * CSV不支持合并单元格，mergeList与@MergeTitle不写出。
+ * 以=、+、-、@、制表符、回车开头的文本前加单引号，防止在Excel中作为公式执行（CSV注入）。
+ * 分隔符可指定，{@link #TAB}写出TSV
+ *
+ * @author: MingWei Yang
+ */
+public class ExcelCsvWriter {
+
+    /**
+     * CSV分隔符
+     */
+    public static final char COMMA = ',';
+
+    /**
+     * TSV分隔符
+     */
+    public static final char TAB = '\t';
+
+    private static final char QUOTE = '"';
+
+    private static final char FORMULA_ESCAPE = '\'';
+
+    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern(DatePattern.NORM_DATETIME_PATTERN);
+
+    private ExcelCsvWriter() {
+    }
+
+    /**
+     * 写出一个Sheet的数据，以逗号分隔
+     *
+     * @param out
+     * @param excel
+     * @return 写出的数据行数
+     * @throws IOException
+     */
+    public static int write(Writer out, Excel<?> excel) throws IOException {
+        return write(out, excel, COMMA);
+    }
+
+    /**
+     * 写出一个Sheet的数据
+     *
+     * @param out
+     * @param excel
+     * @param separator 分隔符，不能是引号或换行
+     * @return 写出的数据行数
+     * @throws IOException
+     */
+    public static int write(Writer out, Excel<?> excel, char separator) throws IOException {
+        if (separator == QUOTE || separator == '\n' || separator == '\r') {
+            throw new IllegalArgumentException("分隔符不能是引号或换行");
+        }
+        ExcelWritePlan plan = ExcelWritePlan.of(excel.getCls());
+        int columnCount = plan.getColumnCount();
+        for (int i = 0; i < columnCount; i++) {
+            if (i > 0) {
+                out.write(separator);
+            }
+            writeValue(out, plan.getTitle(i), separator);
+        }
+        out.write(StringPool.CRLF);
+
+        int rows = 0;
+        for (Object bean : excel.rows()) {
+            for (int i = 0; i < columnCount; i++) {
+                if (i > 0) {
+                    out.write(separator);
+                }
+                int property = plan.getColumnProperty(i);
+                if (property >= 0) {
+                    writeValue(out, plan.getValue(property, bean), separator);
+                }
+            }
+            out.write(StringPool.CRLF);
+            rows++;
+        }
+        return rows;
+    }
+
+    /**
+     * 写出单元格，包含分隔符、引号、换行时加引号转义，文本可能被识别为公式时加单引号
+     *
+     * @param out
+     * @param value
+     * @param separator
+     * @throws IOException
+     */
+    private static void writeValue(Writer out, Object value, char separator) throws IOException {
+        if (null == value) {
+            return;
+        }
+        String text = format(value);
+        if (!(value instanceof Number) && isFormulaLike(text)) {
+            text = FORMULA_ESCAPE + text;
+        }
+        boolean quote = false;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (ch == separator || ch == QUOTE || ch == '\n' || ch == '\r') {
+                quote = true;
+                break;
+            }
+        }
+        if (!quote) {
+            out.write(text);
+            return;
+        }
+        out.write(QUOTE);
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (ch == QUOTE) {
+                out.write(QUOTE);
+            }
+            out.write(ch);
+        }
+        out.write(QUOTE);
+    }
+
+    /**
+     * 是否以Excel公式起始字符开头
+     *
+     * @param text
+     * @return
+     */
+    private static boolean isFormulaLike(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        char ch = text.charAt(0);
+        return ch == '=' || ch == '+' || ch == '-' || ch == '@' || ch == '\t' || ch == '\r';
+    }
+
+    private static String format(Object value) {
+        if (value instanceof CharSequence) {
+            return value.toString();
+        }
+        if (value instanceof Number) {
+            return NumberUtil.toStr((Number) value);
+        }
+        if (value instanceof Date) {
+            return DateUtil.formatDateTime((Date) value);
+        }
+        if (value instanceof Calendar) {
+            return DateUtil.formatDateTime(((Calendar) value).getTime());
+        }
+        if (value instanceof LocalDateTime) {
+            return DATETIME_FORMATTER.format((LocalDateTime) value);
+        }
+        if (value instanceof TemporalAccessor) {
+            return value.toString();
+        }
+        return String.valueOf(value);
+    }
+}
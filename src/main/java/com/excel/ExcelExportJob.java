@@ -0,0 +1,117 @@
+package com.excel;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 异步导出任务
+ *
+ * @author: MingWei Yang
+ */
+public class ExcelExportJob {
+
+    /**
+     * 任务状态
+     */
+    public enum Status {
+        /**
+         * 排队中
+         */
+        WAITING,
+        /**
+         * 生成中
+         */
+        RUNNING,
+        /**
+         * 已完成，可下载
+         */
+        DONE,
+        /**
+         * 失败
+         */
+        FAILED
+    }
+
+    private final String id;
+
+    private final String excelName;
+
+    private final LocalDateTime createTime = LocalDateTime.now();
+
+    private final AtomicLong rowsWritten = new AtomicLong();
+
+    private volatile Status status = Status.WAITING;
+
+    private volatile File file;
+
+    private volatile String errorMessage;
+
+    private volatile LocalDateTime finishTime;
+
+    ExcelExportJob(String id, String excelName) {
+        this.id = id;
+        this.excelName = excelName;
+    }
+
+    public String getId() {
+        return this.id;
+    }
+
+    public String getExcelName() {
+        return this.excelName;
+    }
+
+    public LocalDateTime getCreateTime() {
+        return this.createTime;
+    }
+
+    public Status getStatus() {
+        return this.status;
+    }
+
+    /**
+     * 已写出的数据行数
+     *
+     * @return
+     */
+    public long getRowsWritten() {
+        return this.rowsWritten.get();
+    }
+
+    public File getFile() {
+        return this.file;
+    }
+
+    public String getErrorMessage() {
+        return this.errorMessage;
+    }
+
+    public LocalDateTime getFinishTime() {
+        return this.finishTime;
+    }
+
+    public boolean isFinished() {
+        return Status.DONE == this.status || Status.FAILED == this.status;
+    }
+
+    AtomicLong rowsWrittenCounter() {
+        return this.rowsWritten;
+    }
+
+    void running(File file) {
+        this.file = file;
+        this.status = Status.RUNNING;
+    }
+
+    void done() {
+        this.finishTime = LocalDateTime.now();
+        this.status = Status.DONE;
+    }
+
+    void failed(String errorMessage) {
+        this.errorMessage = errorMessage;
+        this.finishTime = LocalDateTime.now();
+        this.status = Status.FAILED;
+    }
+}
@@ -0,0 +1,254 @@
+package com.excel;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.io.IoUtil;
+import cn.hutool.core.util.IdUtil;
+import com.excel.ExcelUtils.Excel;
+import com.excel.ExcelUtils.ExcelEngine;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 异步导出服务
+ * <p>
+ * 请求线程只提交任务和下载结果，工作簿在有界线程池中生成到临时文件，
+ * 可查询已写出行数，完成后通过{@link #download}下载。生成前向{@link ExcelAdmissionController}申请内存预算，
+ * 等待预算时任务仍为排队中。超过保留时间的已结束任务由后台线程定期清理
+ *
+ * @author: MingWei Yang
+ */
+@Slf4j
+public class ExcelExportJobService {
+
+    private final ThreadPoolExecutor executor;
+
+    private final ScheduledExecutorService cleaner;
+
+    private final File tempDir;
+
+    private final Duration retention;
+
+    private final Map<String, ExcelExportJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * @param threads       生成线程数
+     * @param queueCapacity 排队任务上限，超出时拒绝提交
+     * @param tempDir       结果文件目录，为null时使用系统临时目录
+     * @param retention     已结束任务及文件的保留时间
+     */
+    public ExcelExportJobService(int threads, int queueCapacity, File tempDir, Duration retention) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "excel-export-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.tempDir = null != tempDir ? tempDir : FileUtil.getTmpDir();
+        this.retention = retention;
+        FileUtil.mkdir(this.tempDir);
+        this.cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "excel-export-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(retention.toMillis(), 1000L);
+        this.cleaner.scheduleWithFixedDelay(this::cleanExpired, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 提交导出任务，名称取第一个Excel的@ExcelName
+     *
+     * @param excels
+     * @return 任务ID
+     */
+    public String submit(Excel... excels) {
+        return this.submit(ExcelUtils.getExcelName(excels), ExcelEngine.SXSSF, excels);
+    }
+
+    /**
+     * 提交导出任务
+     *
+     * @param excelName
+     * @param engine
+     * @param excels
+     * @return 任务ID
+     */
+    public String submit(String excelName, ExcelEngine engine, Excel... excels) {
+        if (ObjectUtil.isEmpty(excels)) {
+            throw new RuntimeException("导出Excel错误，请检查传入Excel信息是否正确");
+        }
+        ExcelExportJob job = new ExcelExportJob(IdUtil.fastSimpleUUID(), excelName);
+        Excel[] countingExcels = new Excel[excels.length];
+        for (int i = 0; i < excels.length; i++) {
+            countingExcels[i] = counting(excels[i], job.rowsWrittenCounter());
+        }
+        this.jobs.put(job.getId(), job);
+        try {
+            this.executor.execute(() -> this.run(job, engine, countingExcels));
+        } catch (RejectedExecutionException ex) {
+            this.jobs.remove(job.getId());
+            ExcelUtils.closeStreams(countingExcels);
+            throw new RuntimeException("导出任务繁忙，请稍后再试");
+        }
+        return job.getId();
+    }
+
+    /**
+     * 查询任务
+     *
+     * @param jobId
+     * @return 不存在或已清理时为null
+     */
+    public ExcelExportJob getJob(String jobId) {
+        return this.jobs.get(jobId);
+    }
+
+    /**
+     * 排队中的任务数
+     *
+     * @return
+     */
+    public int getQueueSize() {
+        return this.executor.getQueue().size();
+    }
+
+    /**
+     * 下载已完成的导出文件
+     *
+     * @param jobId
+     * @param response
+     */
+    public void download(String jobId, HttpServletResponse response) {
+        ExcelExportJob job = this.jobs.get(jobId);
+        if (null == job) {
+            throw new RuntimeException("导出任务不存在或已过期");
+        }
+        if (ExcelExportJob.Status.DONE != job.getStatus()) {
+            throw new RuntimeException(ExcelExportJob.Status.FAILED == job.getStatus() ? "导出失败：" + job.getErrorMessage() : "导出任务未完成");
+        }
+        ServletOutputStream outputStream = null;
+        try {
+            response.setHeader("Content-disposition", "attachment; filename=" + URLEncoder.encode(job.getExcelName() + "_" + job.getCreateTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss")), StringPool.UTF_8) + ".xlsx");
+            response.setContentLengthLong(job.getFile().length());
+            outputStream = response.getOutputStream();
+            Files.copy(job.getFile().toPath(), outputStream);
+            outputStream.flush();
+        } catch (Exception ex) {
+            //多为客户端中断下载，文件保留，可重新下载
+            log.warn("下载导出文件失败：{}", jobId, ex);
+        } finally {
+            if (outputStream != null) {
+                IoUtil.close(outputStream);
+            }
+        }
+    }
+
+    /**
+     * 删除任务及结果文件
+     *
+     * @param jobId
+     */
+    public void remove(String jobId) {
+        ExcelExportJob job = this.jobs.remove(jobId);
+        if (null != job && null != job.getFile()) {
+            FileUtil.del(job.getFile());
+        }
+    }
+
+    /**
+     * 清理超过保留时间的已结束任务
+     */
+    public void cleanExpired() {
+        LocalDateTime expireTime = LocalDateTime.now().minus(this.retention);
+        for (ExcelExportJob job : this.jobs.values()) {
+            if (job.isFinished() && job.getFinishTime().isBefore(expireTime)) {
+                this.remove(job.getId());
+            }
+        }
+    }
+
+    /**
+     * 停止接收任务，删除全部结果文件
+     */
+    public void shutdown() {
+        this.cleaner.shutdownNow();
+        this.executor.shutdownNow();
+        for (String jobId : this.jobs.keySet()) {
+            this.remove(jobId);
+        }
+    }
+
+    private void run(ExcelExportJob job, ExcelEngine engine, Excel[] excels) {
+        File file = new File(this.tempDir, "excel-export-" + job.getId() + ".xlsx");
+        //writeExcel在同一线程内不再重复申请预算
+        try (ExcelAdmissionController.Permit permit = ExcelAdmissionController.getDefault().acquire(ExcelAdmissionController.estimateExport(engine, excels))) {
+            job.running(file);
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(file.toPath()), 64 * 1024)) {
+                ExcelUtils.writeExcel(outputStream, engine, job.getExcelName(), excels);
+                outputStream.flush();
+            }
+        } catch (Exception ex) {
+            log.error("导出任务失败：{}", job.getId(), ex);
+            ExcelUtils.closeStreams(excels);
+            FileUtil.del(file);
+            job.failed(ex.getMessage());
+            return;
+        }
+        job.done();
+    }
+
+    /**
+     * 复制Excel，数据源按拉取条数计入已写出行数
+     *
+     * @param excel
+     * @param counter
+     * @return
+     */
+    private static Excel counting(Excel<?> excel, AtomicLong counter) {
+        Iterable<?> rows = excel.rows();
+        Excel copy = new Excel(excel.getCls(), (Collection) null, excel.getMergeList());
+        copy.setAutoWidth(excel.isAutoWidth());
+        copy.setParallelism(excel.getParallelism());
+        //Stream随复制的Excel在导出结束后关闭
+        copy.setStream(excel.getStream());
+        copy.setSource(() -> new Iterator<Object>() {
+            private final Iterator<?> iterator = rows.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return this.iterator.hasNext();
+            }
+
+            @Override
+            public Object next() {
+                Object row = this.iterator.next();
+                counter.incrementAndGet();
+                return row;
+            }
+        });
+        return copy;
+    }
+}
@@ -0,0 +1,318 @@
+package com.excel;
+
+import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.util.StrUtil;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.MissingRecordAwareHSSFListener;
+import org.apache.poi.hssf.eventusermodel.dummyrecord.LastCellOfRowDummyRecord;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BlankRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.CellType;
+
+import java.util.Arrays;
+
+/**
+ * xls流式读取（HSSF事件模型）
+ * <p>
+ * 按记录解析第一个Sheet，不创建HSSFWorkbook和整表List，只有共享字符串表常驻内存，
+ * 单元格值转换规则与{@link ExcelSaxReader}一致，处理器跳过的单元格不取值，处理器读满limit行后停止解析
+ *
+ * @author: MingWei Yang
+ */
+public class ExcelHssfReader {
+
+    private ExcelHssfReader() {
+    }
+
+    /**
+     * 读取第一个Sheet
+     *
+     * @param fs
+     * @param handler
+     * @throws Exception
+     */
+    public static void read(POIFSFileSystem fs, ExcelRowHandler<?> handler) throws Exception {
+        RecordHandler recordHandler = new RecordHandler(handler);
+        FormatTrackingHSSFListener formatListener = new FormatTrackingHSSFListener(new MissingRecordAwareHSSFListener(recordHandler));
+        recordHandler.formatListener = formatListener;
+        HSSFRequest request = new HSSFRequest();
+        request.addListenerForAllRecords(formatListener);
+        try {
+            new HSSFEventFactory().processWorkbookEvents(request, fs);
+        } catch (StopParsingException ex) {
+            //已读满limit行或第一个Sheet已结束
+        }
+    }
+
+    /**
+     * 停止解析，不记录堆栈
+     */
+    private static class StopParsingException extends RuntimeException {
+
+        StopParsingException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * 记录处理
+     */
+    private static class RecordHandler implements HSSFListener {
+
+        private static final byte FORMAT_GENERAL = 0;
+
+        private static final byte FORMAT_DECIMAL = 1;
+
+        private static final byte FORMAT_DATE = 2;
+
+        /**
+         * 公式缓存结果类型
+         */
+        private static final int RESULT_NUMERIC = CellType.NUMERIC.getCode();
+
+        private static final int RESULT_BOOLEAN = CellType.BOOLEAN.getCode();
+
+        private final ExcelRowHandler<?> handler;
+
+        private FormatTrackingHSSFListener formatListener;
+
+        private SSTRecord strings;
+
+        /**
+         * 以格式下标缓存的数字格式类型，未解析为-1
+         */
+        private byte[] formatCache = new byte[0];
+
+        /**
+         * 已开始的Sheet数，只处理第一个
+         */
+        private int sheetCount;
+
+        private boolean inSheet;
+
+        /**
+         * 当前行号，没有未结束的行时为-1
+         */
+        private int rowIndex = -1;
+
+        /**
+         * 字符串公式的结果在随后的StringRecord中
+         */
+        private int formulaCol = -1;
+
+        RecordHandler(ExcelRowHandler<?> handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void processRecord(Record record) {
+            switch (record.getSid()) {
+                case BOFRecord.sid:
+                    if (((BOFRecord) record).getType() == BOFRecord.TYPE_WORKSHEET) {
+                        this.inSheet = this.sheetCount++ == 0;
+                    }
+                    return;
+                case EOFRecord.sid:
+                    if (this.inSheet) {
+                        this.endRow();
+                        throw new StopParsingException();
+                    }
+                    return;
+                case SSTRecord.sid:
+                    this.strings = (SSTRecord) record;
+                    return;
+                default:
+                    break;
+            }
+            if (!this.inSheet) {
+                return;
+            }
+            if (record instanceof LastCellOfRowDummyRecord) {
+                if (((LastCellOfRowDummyRecord) record).getRow() == this.rowIndex) {
+                    this.endRow();
+                }
+                return;
+            }
+            switch (record.getSid()) {
+                case NumberRecord.sid:
+                    NumberRecord number = (NumberRecord) record;
+                    if (!this.skip(number, false)) {
+                        this.cell(number, this.numericValue(number, number.getValue()));
+                    }
+                    break;
+                case LabelSSTRecord.sid:
+                    LabelSSTRecord label = (LabelSSTRecord) record;
+                    String labelValue = this.strings.getString(label.getSSTIndex()).getString();
+                    if (!this.skip(label, labelValue.isEmpty())) {
+                        this.cell(label, labelValue);
+                    }
+                    break;
+                case LabelRecord.sid:
+                    LabelRecord text = (LabelRecord) record;
+                    if (!this.skip(text, text.getValue().isEmpty())) {
+                        this.cell(text, text.getValue());
+                    }
+                    break;
+                case BlankRecord.sid:
+                    //有格式的空单元格，与read()一致计入行内单元格数
+                    BlankRecord blank = (BlankRecord) record;
+                    if (!this.skip(blank, true)) {
+                        this.cell(blank, null);
+                    }
+                    break;
+                case BoolErrRecord.sid:
+                    BoolErrRecord boolErr = (BoolErrRecord) record;
+                    if (!this.skip(boolErr, !boolErr.isBoolean())) {
+                        this.cell(boolErr, boolErr.isBoolean() ? boolErr.getBooleanValue() : null);
+                    }
+                    break;
+                case FormulaRecord.sid:
+                    FormulaRecord formula = (FormulaRecord) record;
+                    if (formula.hasCachedResultString()) {
+                        this.startRow(formula.getRow());
+                        this.formulaCol = formula.getColumn();
+                    } else {
+                        this.formula(formula);
+                    }
+                    break;
+                case StringRecord.sid:
+                    if (this.formulaCol >= 0) {
+                        String value = ((StringRecord) record).getString();
+                        if (!this.handler.isSkipped(this.formulaCol)) {
+                            this.handler.cell(this.formulaCol, value);
+                        } else if (!value.isEmpty()) {
+                            this.handler.skipCell(this.formulaCol);
+                        }
+                        this.formulaCol = -1;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        /**
+         * 非字符串结果的公式，按缓存结果类型取值：布尔、错误与空字符串结果的缓存数值为0，不能按数字读取
+         *
+         * @param formula
+         */
+        private void formula(FormulaRecord formula) {
+            this.startRow(formula.getRow());
+            int resultType = formula.getCachedResultType();
+            if (this.handler.isSkipped(formula.getColumn())) {
+                if (resultType == RESULT_NUMERIC || resultType == RESULT_BOOLEAN) {
+                    this.handler.skipCell(formula.getColumn());
+                }
+                return;
+            }
+            Object value;
+            if (resultType == RESULT_NUMERIC) {
+                value = this.numericValue(formula, formula.getValue());
+            } else if (resultType == RESULT_BOOLEAN) {
+                value = formula.getCachedBooleanValue();
+            } else {
+                //错误、空字符串
+                value = null;
+            }
+            this.handler.cell(formula.getColumn(), value);
+        }
+
+        /**
+         * 处理器跳过的单元格不取值，空值与错误值不计入非空单元格
+         *
+         * @param record
+         * @param empty
+         * @return
+         */
+        private boolean skip(CellValueRecordInterface record, boolean empty) {
+            this.startRow(record.getRow());
+            if (!this.handler.isSkipped(record.getColumn())) {
+                return false;
+            }
+            if (!empty) {
+                this.handler.skipCell(record.getColumn());
+            }
+            return true;
+        }
+
+        private void cell(CellValueRecordInterface record, Object value) {
+            this.startRow(record.getRow());
+            this.handler.cell(record.getColumn(), value);
+        }
+
+        private void startRow(int row) {
+            if (row == this.rowIndex) {
+                return;
+            }
+            this.endRow();
+            this.rowIndex = row;
+            this.handler.startRow(row);
+        }
+
+        private void endRow() {
+            if (this.rowIndex < 0) {
+                return;
+            }
+            this.rowIndex = -1;
+            this.formulaCol = -1;
+            this.handler.endRow();
+            if (this.handler.isFinished()) {
+                throw new StopParsingException();
+            }
+        }
+
+        private Object numericValue(CellValueRecordInterface record, double number) {
+            byte format = this.format(record);
+            if (format == FORMAT_DATE) {
+                return DateUtil.date(org.apache.poi.ss.usermodel.DateUtil.getJavaDate(number));
+            }
+            if (format == FORMAT_GENERAL) {
+                long longPart = (long) number;
+                if (((double) longPart) == number) {
+                    return longPart;
+                }
+            }
+            return number;
+        }
+
+        private byte format(CellValueRecordInterface record) {
+            int formatIndex = this.formatListener.getFormatIndex(record);
+            if (formatIndex < 0) {
+                return FORMAT_GENERAL;
+            }
+            if (formatIndex >= this.formatCache.length) {
+                byte[] cache = new byte[Math.max(formatIndex + 1, this.formatCache.length * 2)];
+                Arrays.fill(cache, (byte) -1);
+                System.arraycopy(this.formatCache, 0, cache, 0, this.formatCache.length);
+                this.formatCache = cache;
+            }
+            byte format = this.formatCache[formatIndex];
+            if (format < 0) {
+                format = this.resolveFormat(formatIndex, this.formatListener.getFormatString(formatIndex));
+                this.formatCache[formatIndex] = format;
+            }
+            return format;
+        }
+
+        private byte resolveFormat(int formatIndex, String formatString) {
+            if (org.apache.poi.ss.usermodel.DateUtil.isADateFormat(formatIndex, formatString)) {
+                return FORMAT_DATE;
+            }
+            return null != formatString && formatString.indexOf(StrUtil.C_DOT) >= 0 ? FORMAT_DECIMAL : FORMAT_GENERAL;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.excel;
+
+import org.apache.poi.ss.util.CellRangeAddress;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * 合并单元格重叠校验
+ * <p>
+ * 按起始行扫描，活动区域按起始列建立区间索引，一次性校验全部区域，复杂度O(n log n)，
+ * 校验通过后即可使用Sheet.addMergedRegionUnsafe注册，避免addMergedRegion逐个与已有区域比较
+ *
+ * @author: MingWei Yang
+ */
+public class ExcelMergeIndex {
+
+    private ExcelMergeIndex() {
+    }
+
+    /**
+     * 校验区域之间以及与已有区域之间没有重叠
+     *
+     * @param existing 已注册的区域
+     * @param regions  待注册的区域
+     * @throws IllegalArgumentException 区域少于2个单元格
+     * @throws IllegalStateException    区域重叠
+     */
+    public static void checkOverlap(List<CellRangeAddress> existing, List<CellRangeAddress> regions) {
+        List<CellRangeAddress> all = new ArrayList<>(existing.size() + regions.size());
+        all.addAll(existing);
+        for (CellRangeAddress region : regions) {
+            if (region.getNumberOfCells() < 2) {
+                throw new IllegalArgumentException("合并单元格区域至少包含2个单元格：" + region.formatAsString());
+            }
+            all.add(region);
+        }
+        all.sort(Comparator.comparingInt(CellRangeAddress::getFirstRow));
+
+        //活动区域都包含当前扫描行，彼此列区间不相交
+        PriorityQueue<CellRangeAddress> expiring = new PriorityQueue<>(Comparator.comparingInt(CellRangeAddress::getLastRow));
+        TreeMap<Integer, CellRangeAddress> active = new TreeMap<>();
+        for (CellRangeAddress region : all) {
+            while (!expiring.isEmpty() && expiring.peek().getLastRow() < region.getFirstRow()) {
+                CellRangeAddress expired = expiring.poll();
+                active.remove(expired.getFirstColumn(), expired);
+            }
+            Map.Entry<Integer, CellRangeAddress> floor = active.floorEntry(region.getLastColumn());
+            if (null != floor && floor.getValue().getLastColumn() >= region.getFirstColumn()) {
+                throw new IllegalStateException("合并单元格区域重叠：" + region.formatAsString() + " 与 " + floor.getValue().formatAsString());
+            }
+            active.put(region.getFirstColumn(), region);
+            expiring.add(region);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.excel;
+
+import cn.hutool.core.util.StrUtil;
+import com.excel.ExcelUtils.ExcelName;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Excel导入导出指标
+ * <p>
+ * 注册到Micrometer全局注册表，Spring Boot Actuator会将其加入应用的注册表。
+ * 指标按@ExcelName打name标签（未标注时为类名），不使用调用方传入的文件名，避免标签值无限增长，
+ * 导出另按引擎打engine标签
+ *
+ * @author: MingWei Yang
+ */
+public class ExcelMetrics {
+
+    private static final String TAG_NAME = "name";
+
+    private static final String TAG_ENGINE = "engine";
+
+    private static final String TAG_EXCEPTION = "exception";
+
+    private static final String DEFAULT_NAME = "default";
+
+    private static final MeterRegistry REGISTRY = Metrics.globalRegistry;
+
+    static {
+        Gauge.builder("excel.export.temp.bytes", ExcelTempStorage.class, cls -> ExcelTempStorage.getUsedBytes())
+                .description("SXSSF临时数据当前占用字节数")
+                .baseUnit("bytes")
+                .register(REGISTRY);
+        Gauge.builder("excel.admission.queue", ExcelAdmissionController.class, cls -> ExcelAdmissionController.getDefault().getQueueDepth())
+                .description("等待内存预算的请求数")
+                .register(REGISTRY);
+        Gauge.builder("excel.admission.used.bytes", ExcelAdmissionController.class, cls -> ExcelAdmissionController.getDefault().getUsedBytes())
+                .description("已占用的内存预算字节数")
+                .baseUnit("bytes")
+                .register(REGISTRY);
+    }
+
+    private ExcelMetrics() {
+    }
+
+    /**
+     * 开始计时
+     *
+     * @return
+     */
+    public static Timer.Sample start() {
+        return Timer.start(REGISTRY);
+    }
+
+    /**
+     * 记录一个Sheet的生成
+     *
+     * @param cls
+     * @param engine
+     * @param sample
+     * @param rows
+     * @param cells
+     */
+    public static void recordSheet(Class<?> cls, String engine, Timer.Sample sample, long rows, long cells) {
+        String tagName = tagName(cls);
+        sample.stop(Timer.builder("excel.export.sheet")
+                .description("单个Sheet生成耗时")
+                .tags(TAG_NAME, tagName, TAG_ENGINE, engine)
+                .register(REGISTRY));
+        Counter.builder("excel.export.rows")
+                .description("导出数据行数")
+                .tags(TAG_NAME, tagName, TAG_ENGINE, engine)
+                .register(REGISTRY)
+                .increment(rows);
+        Counter.builder("excel.export.cells")
+                .description("导出单元格数")
+                .tags(TAG_NAME, tagName, TAG_ENGINE, engine)
+                .register(REGISTRY)
+                .increment(cells);
+    }
+
+    /**
+     * 记录写出工作簿（压缩、写入输出流）的耗时
+     *
+     * @param cls     第一个Sheet的Class
+     * @param engine
+     * @param sample
+     */
+    public static void recordFlush(Class<?> cls, String engine, Timer.Sample sample) {
+        sample.stop(Timer.builder("excel.export.flush")
+                .description("工作簿压缩写出耗时")
+                .tags(TAG_NAME, tagName(cls), TAG_ENGINE, engine)
+                .register(REGISTRY));
+    }
+
+    /**
+     * 记录导出文件大小与SXSSF临时数据大小
+     *
+     * @param cls         第一个Sheet的Class
+     * @param engine
+     * @param outputBytes
+     * @param tempBytes   没有临时数据时为负数
+     */
+    public static void recordOutput(Class<?> cls, String engine, long outputBytes, long tempBytes) {
+        String tagName = tagName(cls);
+        DistributionSummary.builder("excel.export.output.bytes")
+                .description("导出文件大小")
+                .baseUnit("bytes")
+                .tags(TAG_NAME, tagName, TAG_ENGINE, engine)
+                .register(REGISTRY)
+                .record(outputBytes);
+        if (tempBytes >= 0) {
+            DistributionSummary.builder("excel.export.temp.usage")
+                    .description("单次导出的SXSSF临时数据大小")
+                    .baseUnit("bytes")
+                    .tags(TAG_NAME, tagName, TAG_ENGINE, engine)
+                    .register(REGISTRY)
+                    .record(tempBytes);
+        }
+    }
+
+    /**
+     * 记录导出失败
+     *
+     * @param cls    第一个Sheet的Class
+     * @param engine
+     * @param ex
+     */
+    public static void exportFailed(Class<?> cls, String engine, Throwable ex) {
+        Counter.builder("excel.export.failures")
+                .description("导出失败次数")
+                .tags(TAG_NAME, tagName(cls), TAG_ENGINE, engine, TAG_EXCEPTION, ex.getClass().getSimpleName())
+                .register(REGISTRY)
+                .increment();
+    }
+
+    /**
+     * 记录导入解析耗时
+     *
+     * @param cls
+     * @param sample
+     */
+    public static void recordParse(Class<?> cls, Timer.Sample sample) {
+        sample.stop(Timer.builder("excel.import.parse")
+                .description("导入文件解析耗时")
+                .tags(TAG_NAME, tagName(cls))
+                .register(REGISTRY));
+    }
+
+    /**
+     * 记录导入绑定耗时与行数，流式读取时解析与绑定交替进行，耗时包含解析
+     *
+     * @param cls
+     * @param sample
+     * @param rows
+     */
+    public static void recordBind(Class<?> cls, Timer.Sample sample, long rows) {
+        String tagName = tagName(cls);
+        sample.stop(Timer.builder("excel.import.bind")
+                .description("导入数据绑定耗时")
+                .tags(TAG_NAME, tagName)
+                .register(REGISTRY));
+        Counter.builder("excel.import.rows")
+                .description("导入数据行数")
+                .tags(TAG_NAME, tagName)
+                .register(REGISTRY)
+                .increment(rows);
+    }
+
+    /**
+     * 记录导入失败
+     *
+     * @param cls
+     * @param ex
+     */
+    public static void importFailed(Class<?> cls, Throwable ex) {
+        Counter.builder("excel.import.failures")
+                .description("导入失败次数")
+                .tags(TAG_NAME, tagName(cls), TAG_EXCEPTION, ex.getClass().getSimpleName())
+                .register(REGISTRY)
+                .increment();
+    }
+
+    private static String tagName(Class<?> cls) {
+        ExcelName name = null == cls ? null : cls.getAnnotation(ExcelName.class);
+        if (null != name && StrUtil.isNotBlank(name.value())) {
+            return name.value();
+        }
+        return null == cls ? DEFAULT_NAME : cls.getSimpleName();
+    }
+}
@@ -0,0 +1,63 @@
+package com.excel;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+/**
+ * 分页拉取数据的迭代器
+ * <p>
+ * 导出时按需调用pageFetcher，同一时刻只持有一页数据；返回空页或不足pageSize的页视为最后一页
+ *
+ * @author: MingWei Yang
+ */
+public class ExcelPageIterator<T> implements Iterator<T> {
+
+    private final int pageSize;
+
+    /**
+     * 分页查询，参数为页码（从1开始）和每页条数
+     */
+    private final BiFunction<Integer, Integer, ? extends Collection<T>> pageFetcher;
+
+    private Iterator<T> page = Collections.emptyIterator();
+
+    private int pageNo;
+
+    private boolean lastPage;
+
+    public ExcelPageIterator(int pageSize, BiFunction<Integer, Integer, ? extends Collection<T>> pageFetcher) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be greater than 0");
+        }
+        this.pageSize = pageSize;
+        this.pageFetcher = pageFetcher;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!this.page.hasNext()) {
+            if (this.lastPage) {
+                return false;
+            }
+            Collection<T> rows = this.pageFetcher.apply(++this.pageNo, this.pageSize);
+            if (ObjectUtil.isEmpty(rows)) {
+                this.lastPage = true;
+                return false;
+            }
+            this.lastPage = rows.size() < this.pageSize;
+            this.page = rows.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return this.page.next();
+    }
+}
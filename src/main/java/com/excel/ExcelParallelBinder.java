@@ -0,0 +1,142 @@
+package com.excel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Excel导入并行绑定
+ * <p>
+ * 解析后的行按下标区间拆分为fork/join任务，在公共ForkJoinPool中并行创建对象，结果按原行顺序返回，
+ * 不为每次读取创建线程池。
+ * 多行出错时抛出行号最小的错误，与逐行绑定时的报错一致
+ *
+ * @author: MingWei Yang
+ */
+public class ExcelParallelBinder {
+
+    /**
+     * 单个任务绑定的行数下限
+     */
+    private static final int THRESHOLD = 1024;
+
+    private ExcelParallelBinder() {
+    }
+
+    /**
+     * 并行绑定
+     *
+     * @param binder
+     * @param rows        解析后的行，已去除表头
+     * @param parallelism 并行度，拆分的任务数不超过parallelism，实际线程数受公共ForkJoinPool限制，小于等于0时不限制任务数
+     * @param <T>
+     * @return 与rows顺序一致的对象
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> bind(ExcelBeanBinder<T> binder, List<List<Object>> rows, int parallelism) {
+        Object[] result = new Object[rows.size()];
+        AtomicReference<RowError> error = new AtomicReference<>();
+        int chunkSize = THRESHOLD;
+        if (parallelism > 0) {
+            chunkSize = Math.max(THRESHOLD, (rows.size() + parallelism - 1) / parallelism);
+        }
+        ForkJoinPool.commonPool().invoke(new BindTask<>(binder, rows, result, error, 0, rows.size(), chunkSize));
+        RowError rowError = error.get();
+        if (null != rowError) {
+            throw rowError.exception;
+        }
+        //与read()一致返回可修改的ArrayList
+        return (List<T>) new ArrayList<>(Arrays.asList(result));
+    }
+
+    /**
+     * 绑定[start, end)区间的行
+     */
+    private static class BindTask<T> extends RecursiveAction {
+
+        private final ExcelBeanBinder<T> binder;
+
+        private final List<List<Object>> rows;
+
+        private final Object[] result;
+
+        private final AtomicReference<RowError> error;
+
+        private final int start;
+
+        private final int end;
+
+        private final int chunkSize;
+
+        BindTask(ExcelBeanBinder<T> binder, List<List<Object>> rows, Object[] result, AtomicReference<RowError> error, int start, int end, int chunkSize) {
+            this.binder = binder;
+            this.rows = rows;
+            this.result = result;
+            this.error = error;
+            this.start = start;
+            this.end = end;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.end - this.start > this.chunkSize) {
+                //按chunkSize一次拆分，任务数即并行度上限
+                List<BindTask<T>> tasks = new ArrayList<>();
+                for (int from = this.start; from < this.end; from += this.chunkSize) {
+                    tasks.add(new BindTask<>(this.binder, this.rows, this.result, this.error, from, Math.min(from + this.chunkSize, this.end), this.chunkSize));
+                }
+                invokeAll(tasks);
+                return;
+            }
+            for (int rowIndex = this.start; rowIndex < this.end; rowIndex++) {
+                RowError current = this.error.get();
+                if (null != current && current.rowIndex < rowIndex) {
+                    //已有更靠前的错误，后面的行不必绑定
+                    return;
+                }
+                try {
+                    T obj = this.binder.newInstance();
+                    List<Object> row = this.rows.get(rowIndex);
+                    for (int colIndex = 0; colIndex < row.size(); colIndex++) {
+                        this.binder.bind(rowIndex, colIndex, row.get(colIndex), obj);
+                    }
+                    this.result[rowIndex] = obj;
+                } catch (RuntimeException ex) {
+                    this.reportError(new RowError(rowIndex, ex));
+                    return;
+                }
+            }
+        }
+
+        /**
+         * 只保留行号最小的错误
+         *
+         * @param rowError
+         */
+        private void reportError(RowError rowError) {
+            RowError current;
+            do {
+                current = this.error.get();
+                if (null != current && current.rowIndex <= rowError.rowIndex) {
+                    return;
+                }
+            } while (!this.error.compareAndSet(current, rowError));
+        }
+    }
+
+    private static class RowError {
+
+        final int rowIndex;
+
+        final RuntimeException exception;
+
+        RowError(int rowIndex, RuntimeException exception) {
+            this.rowIndex = rowIndex;
+            this.exception = exception;
+        }
+    }
+}
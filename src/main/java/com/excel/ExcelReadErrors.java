@@ -0,0 +1,171 @@
+package com.excel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Excel导入错误汇总
+ * <p>
+ * 按数组记录出错的行、列、类型与原始值，不创建异常对象；超过上限后只计数。
+ * 错误信息在读取时才拼接，格式与逐行读取时抛出的信息一致，行号为Excel中的实际行号（逐行读取时不计空行）
+ *
+ * @author: MingWei Yang
+ */
+public class ExcelReadErrors {
+
+    /**
+     * 默认记录的错误数上限
+     */
+    public static final int DEFAULT_MAX_ERRORS = 1000;
+
+    /**
+     * 类型转换失败
+     */
+    public static final int CONVERT = 0;
+
+    /**
+     * 必填列为空
+     */
+    public static final int REQUIRED = 1;
+
+    private final int maxErrors;
+
+    private int[] rows = new int[16];
+
+    private int[] cols = new int[16];
+
+    private byte[] types = new byte[16];
+
+    private String[] titles = new String[16];
+
+    private Object[] values = new Object[16];
+
+    private int size;
+
+    private int totalCount;
+
+    public ExcelReadErrors() {
+        this(DEFAULT_MAX_ERRORS);
+    }
+
+    /**
+     * @param maxErrors 记录的错误数上限
+     */
+    public ExcelReadErrors(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * 记录错误
+     *
+     * @param rowIndex Sheet中的行下标（从0开始）
+     * @param colIndex
+     * @param type     {@link #CONVERT}或{@link #REQUIRED}
+     * @param title    列名
+     * @param value    原始值
+     */
+    void add(int rowIndex, int colIndex, int type, String title, Object value) {
+        this.totalCount++;
+        if (this.size >= this.maxErrors) {
+            return;
+        }
+        if (this.size == this.rows.length) {
+            int length = this.rows.length * 2;
+            this.rows = Arrays.copyOf(this.rows, length);
+            this.cols = Arrays.copyOf(this.cols, length);
+            this.types = Arrays.copyOf(this.types, length);
+            this.titles = Arrays.copyOf(this.titles, length);
+            this.values = Arrays.copyOf(this.values, length);
+        }
+        this.rows[this.size] = rowIndex;
+        this.cols[this.size] = colIndex;
+        this.types[this.size] = (byte) type;
+        this.titles[this.size] = title;
+        this.values[this.size] = value;
+        this.size++;
+    }
+
+    /**
+     * 已记录的错误数
+     *
+     * @return
+     */
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.totalCount == 0;
+    }
+
+    /**
+     * 全部错误数，包括超过上限未记录的
+     *
+     * @return
+     */
+    public int getTotalCount() {
+        return this.totalCount;
+    }
+
+    /**
+     * 是否有超过上限未记录的错误
+     *
+     * @return
+     */
+    public boolean isTruncated() {
+        return this.totalCount > this.size;
+    }
+
+    /**
+     * Excel中的行号（从1开始，含表头与空行）
+     *
+     * @param index
+     * @return
+     */
+    public int getRow(int index) {
+        return this.rows[index] + 1;
+    }
+
+    public int getCol(int index) {
+        return this.cols[index];
+    }
+
+    public int getType(int index) {
+        return this.types[index];
+    }
+
+    public String getTitle(int index) {
+        return this.titles[index];
+    }
+
+    public Object getValue(int index) {
+        return this.values[index];
+    }
+
+    /**
+     * 错误信息
+     *
+     * @param index
+     * @return
+     */
+    public String getMessage(int index) {
+        if (REQUIRED == this.types[index]) {
+            return "第" + this.getRow(index) + "行：" + this.titles[index] + "必填";
+        }
+        return "第" + this.getRow(index) + "行：" + this.titles[index] + "字段读取错误，请检查文件内容是否正确 " + this.values[index];
+    }
+
+    /**
+     * 全部已记录的错误信息
+     *
+     * @return
+     */
+    public List<String> getMessages() {
+        List<String> messages = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            messages.add(this.getMessage(i));
+        }
+        return messages;
+    }
+}
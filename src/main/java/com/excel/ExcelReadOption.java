@@ -0,0 +1,66 @@
+package com.excel;
+
+import lombok.Data;
+
+/**
+ * Excel流式读取选项
+ * <p>
+ * 按数据行（不含表头，空行不计）截取读取范围，按{@link ExcelUtils.ExcelColumn#col()}指定读取的列。
+ * 未读取的列不做取值和类型转换，读满limit行后停止解析
+ *
+ * @author: MingWei Yang
+ */
+@Data
+public class ExcelReadOption {
+
+    /**
+     * 是否移除表头
+     */
+    private boolean removeHead = true;
+
+    /**
+     * 表头所在行（非空行计数）
+     */
+    private int headRowIndex;
+
+    /**
+     * 跳过的数据行数
+     */
+    private int startRow;
+
+    /**
+     * 读取的数据行数，小于等于0时不限制
+     */
+    private int limit;
+
+    /**
+     * 读取的列下标，为null时读取全部已映射的列
+     */
+    private int[] columns;
+
+    /**
+     * 分页读取
+     *
+     * @param startRow 跳过的数据行数
+     * @param limit    读取的数据行数
+     * @return
+     */
+    public static ExcelReadOption page(int startRow, int limit) {
+        ExcelReadOption option = new ExcelReadOption();
+        option.setStartRow(startRow);
+        option.setLimit(limit);
+        return option;
+    }
+
+    /**
+     * 只读取指定的列
+     *
+     * @param columns
+     * @return
+     */
+    public static ExcelReadOption columns(int... columns) {
+        ExcelReadOption option = new ExcelReadOption();
+        option.setColumns(columns);
+        return option;
+    }
+}
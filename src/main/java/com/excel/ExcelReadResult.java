@@ -0,0 +1,35 @@
+package com.excel;
+
+import java.util.List;
+
+/**
+ * Excel校验读取结果
+ *
+ * @author: MingWei Yang
+ */
+public class ExcelReadResult<T> {
+
+    /**
+     * 校验通过的数据，顺序与文件一致
+     */
+    private final List<T> data;
+
+    private final ExcelReadErrors errors;
+
+    public ExcelReadResult(List<T> data, ExcelReadErrors errors) {
+        this.data = data;
+        this.errors = errors;
+    }
+
+    public List<T> getData() {
+        return this.data;
+    }
+
+    public ExcelReadErrors getErrors() {
+        return this.errors;
+    }
+
+    public boolean hasErrors() {
+        return !this.errors.isEmpty();
+    }
+}
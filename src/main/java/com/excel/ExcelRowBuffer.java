@@ -0,0 +1,118 @@
+package com.excel;
+
+/**
+ * 一批已取值的数据行
+ * <p>
+ * 由工作线程按写入计划从Bean取出属性值，写Sheet的线程只负责写入单元格。
+ * 基本类型属性存放在long数组中（double按位存放），不装箱
+ *
+ * @author: MingWei Yang
+ */
+class ExcelRowBuffer {
+
+    private final ExcelWritePlan plan;
+
+    private final Object[] beans;
+
+    private final int count;
+
+    /**
+     * 引用类型属性值，下标为 行 * 属性数 + 属性下标
+     */
+    private final Object[] values;
+
+    /**
+     * 基本类型属性值，下标同values
+     */
+    private final long[] primitives;
+
+    /**
+     * 与写入计划类型一致的行
+     */
+    private final boolean[] converted;
+
+    private ExcelRowBuffer(ExcelWritePlan plan, Object[] beans, int count) {
+        this.plan = plan;
+        this.beans = beans;
+        this.count = count;
+        this.values = new Object[count * plan.size()];
+        this.primitives = new long[count * plan.size()];
+        this.converted = new boolean[count];
+    }
+
+    /**
+     * 取出一批Bean中需要写出的属性值
+     *
+     * @param plan
+     * @param locations 以属性下标为下标的列下标，未写出的属性为-1
+     * @param beans
+     * @param count
+     * @return
+     */
+    static ExcelRowBuffer convert(ExcelWritePlan plan, int[] locations, Object[] beans, int count) {
+        ExcelRowBuffer buffer = new ExcelRowBuffer(plan, beans, count);
+        int size = plan.size();
+        for (int row = 0; row < count; row++) {
+            Object bean = beans[row];
+            if (null == bean || bean.getClass() != plan.getCls()) {
+                continue;
+            }
+            int offset = row * size;
+            for (int i = 0; i < size; i++) {
+                if (locations[i] < 0) {
+                    continue;
+                }
+                switch (plan.getKind(i)) {
+                    case INT:
+                        buffer.primitives[offset + i] = plan.getInt(i, bean);
+                        break;
+                    case LONG:
+                        buffer.primitives[offset + i] = plan.getLong(i, bean);
+                        break;
+                    case DOUBLE:
+                        buffer.primitives[offset + i] = Double.doubleToRawLongBits(plan.getDouble(i, bean));
+                        break;
+                    default:
+                        buffer.values[offset + i] = plan.getValue(i, bean);
+                        break;
+                }
+            }
+            buffer.converted[row] = true;
+        }
+        return buffer;
+    }
+
+    ExcelWritePlan getPlan() {
+        return this.plan;
+    }
+
+    int size() {
+        return this.count;
+    }
+
+    Object getBean(int row) {
+        return this.beans[row];
+    }
+
+    /**
+     * 是否已按写入计划取值，否则需按原方式写出Bean
+     *
+     * @param row
+     * @return
+     */
+    boolean isConverted(int row) {
+        return this.converted[row];
+    }
+
+    Object getValue(int row, int index) {
+        return this.values[row * this.plan.size() + index];
+    }
+
+    long getLong(int row, int index) {
+        return this.primitives[row * this.plan.size() + index];
+    }
+
+    double getDouble(int row, int index) {
+        return Double.longBitsToDouble(this.primitives[row * this.plan.size() + index]);
+    }
+}
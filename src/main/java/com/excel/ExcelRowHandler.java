@@ -0,0 +1,277 @@
+package com.excel;
+
+import java.util.function.Consumer;
+
+/**
+ * Excel流式读取行处理
+ * <p>
+ * 解析器按行推送单元格，处理器边解析边绑定对象并交给consumer，不保留整表数据。
+ * 行号规则与{@link ExcelUtils#read}一致：空行忽略，移除表头后从0开始计数。
+ * 指定{@link ExcelReadErrors}时出错的行记录错误后跳过，不抛出异常。
+ * 未映射或未选择的列、表头与范围外的行由解析器跳过取值和类型转换
+ *
+ * @author: MingWei Yang
+ */
+public class ExcelRowHandler<T> {
+
+    private final ExcelBeanBinder<T> binder;
+
+    private final boolean isRemoveHead;
+
+    private final int headRowIndex;
+
+    private final Consumer<? super T> consumer;
+
+    /**
+     * 跳过的数据行数
+     */
+    private final int startRow;
+
+    /**
+     * 读取的数据行数，小于等于0时不限制
+     */
+    private final int limit;
+
+    /**
+     * 以col为下标，需要读取的列
+     */
+    private final boolean[] readable;
+
+    /**
+     * 以col为下标，当前行已设置值的列，不读取的列始终为true，不做必填校验
+     */
+    private final boolean[] filled;
+
+    private final boolean[] filledTemplate;
+
+    /**
+     * 错误汇总，为null时出错直接抛出异常
+     */
+    private final ExcelReadErrors errors;
+
+    /**
+     * 当前行是否有错误
+     */
+    private boolean invalid;
+
+    /**
+     * 已读取的非空行数
+     */
+    private int readCount;
+
+    /**
+     * 当前数据行下标（不含表头），包括跳过的行
+     */
+    private int dataIndex;
+
+    /**
+     * 当前行在Sheet中的下标（从0开始，含表头与空行），记录到错误汇总
+     */
+    private int sheetRowIndex = -1;
+
+    /**
+     * 已绑定的数据行数
+     */
+    private int rowCount;
+
+    private boolean rowStarted;
+
+    private boolean skipRow;
+
+    private int cellCount;
+
+    private T current;
+
+    public ExcelRowHandler(ExcelBeanBinder<T> binder, boolean isRemoveHead, int headRowIndex, Consumer<? super T> consumer) {
+        this(binder, isRemoveHead, headRowIndex, consumer, null);
+    }
+
+    /**
+     * @param binder
+     * @param isRemoveHead
+     * @param headRowIndex
+     * @param consumer     只接收校验通过的行
+     * @param errors       错误汇总，为null时出错直接抛出异常
+     */
+    public ExcelRowHandler(ExcelBeanBinder<T> binder, boolean isRemoveHead, int headRowIndex, Consumer<? super T> consumer, ExcelReadErrors errors) {
+        this(binder, readOption(isRemoveHead, headRowIndex), consumer, errors);
+    }
+
+    /**
+     * @param binder
+     * @param option   读取范围与列
+     * @param consumer 只接收校验通过的行
+     * @param errors   错误汇总，为null时出错直接抛出异常
+     */
+    public ExcelRowHandler(ExcelBeanBinder<T> binder, ExcelReadOption option, Consumer<? super T> consumer, ExcelReadErrors errors) {
+        this.binder = binder;
+        this.isRemoveHead = option.isRemoveHead();
+        this.headRowIndex = option.getHeadRowIndex();
+        this.startRow = Math.max(option.getStartRow(), 0);
+        this.limit = option.getLimit();
+        this.consumer = consumer;
+        this.readable = new boolean[binder.getColumnCount()];
+        if (null == option.getColumns()) {
+            for (int colIndex = 0; colIndex < this.readable.length; colIndex++) {
+                this.readable[colIndex] = binder.isMapped(colIndex);
+            }
+        } else {
+            for (int colIndex : option.getColumns()) {
+                if (binder.isMapped(colIndex)) {
+                    this.readable[colIndex] = true;
+                }
+            }
+        }
+        this.filledTemplate = new boolean[this.readable.length];
+        for (int colIndex = 0; colIndex < this.readable.length; colIndex++) {
+            this.filledTemplate[colIndex] = !this.readable[colIndex];
+        }
+        this.filled = new boolean[this.readable.length];
+        this.errors = errors;
+    }
+
+    private static ExcelReadOption readOption(boolean isRemoveHead, int headRowIndex) {
+        ExcelReadOption option = new ExcelReadOption();
+        option.setRemoveHead(isRemoveHead);
+        option.setHeadRowIndex(headRowIndex);
+        return option;
+    }
+
+    /**
+     * 开始新的一行，紧接上一行
+     */
+    public void startRow() {
+        this.startRow(this.sheetRowIndex + 1);
+    }
+
+    /**
+     * 开始新的一行
+     *
+     * @param rowIndex Sheet中的行下标（从0开始）
+     */
+    public void startRow(int rowIndex) {
+        this.sheetRowIndex = rowIndex;
+        this.rowStarted = false;
+        this.skipRow = false;
+        this.cellCount = 0;
+        this.current = null;
+        this.invalid = false;
+        System.arraycopy(this.filledTemplate, 0, this.filled, 0, this.filled.length);
+    }
+
+    /**
+     * 是否跳过单元格，跳过时解析器不取值，有值时调用{@link #skipCell}。
+     * 表头与范围外的行在第一个单元格前即可确定，整行跳过
+     *
+     * @param colIndex
+     * @return
+     */
+    public boolean isSkipped(int colIndex) {
+        if (this.rowStarted ? this.skipRow : this.isSkippedRow()) {
+            return true;
+        }
+        return colIndex < 0 || colIndex >= this.readable.length || !this.readable[colIndex];
+    }
+
+    /**
+     * 下一个非空行是否为表头或范围外的行，与{@link #beginRow}的判断一致
+     *
+     * @return
+     */
+    private boolean isSkippedRow() {
+        return (this.isRemoveHead && this.readCount == this.headRowIndex) || this.dataIndex < this.startRow || this.isFinished();
+    }
+
+    /**
+     * 跳过的非空单元格，只用于判断空行
+     *
+     * @param colIndex
+     */
+    public void skipCell(int colIndex) {
+        this.cellCount = Math.max(this.cellCount, colIndex + 1);
+        this.beginRow();
+    }
+
+    /**
+     * 单元格值
+     *
+     * @param colIndex
+     * @param value    空单元格为null
+     */
+    public void cell(int colIndex, Object value) {
+        this.cellCount = Math.max(this.cellCount, colIndex + 1);
+        if (ObjectUtil.isEmpty(value)) {
+            return;
+        }
+        this.beginRow();
+        if (this.skipRow) {
+            return;
+        }
+        if (null == this.errors) {
+            this.binder.bind(this.dataIndex, colIndex, value, this.current);
+        } else if (!this.binder.bind(this.sheetRowIndex, colIndex, value, this.current, this.errors)) {
+            this.invalid = true;
+        }
+        if (colIndex < this.filled.length) {
+            this.filled[colIndex] = true;
+        }
+    }
+
+    /**
+     * 行内第一个非空单元格，确定是否为表头或范围外的行
+     */
+    private void beginRow() {
+        if (this.rowStarted) {
+            return;
+        }
+        this.rowStarted = true;
+        if (this.isRemoveHead && this.readCount == this.headRowIndex) {
+            this.skipRow = true;
+        } else if (this.dataIndex < this.startRow || this.isFinished()) {
+            this.skipRow = true;
+            this.dataIndex++;
+        } else {
+            this.current = this.binder.newInstance();
+        }
+        this.readCount++;
+    }
+
+    /**
+     * 结束当前行
+     */
+    public void endRow() {
+        if (null == this.current) {
+            return;
+        }
+        if (null == this.errors) {
+            this.binder.checkRequired(this.dataIndex, this.cellCount, this.filled);
+        } else if (!this.binder.checkRequired(this.sheetRowIndex, this.cellCount, this.filled, this.errors)) {
+            this.invalid = true;
+        }
+        this.dataIndex++;
+        this.rowCount++;
+        T obj = this.current;
+        this.current = null;
+        if (!this.invalid) {
+            this.consumer.accept(obj);
+        }
+    }
+
+    /**
+     * 已绑定的数据行数
+     *
+     * @return
+     */
+    public int getRowCount() {
+        return this.rowCount;
+    }
+
+    /**
+     * 是否已读满limit行，解析器可停止解析
+     *
+     * @return
+     */
+    public boolean isFinished() {
+        return this.limit > 0 && this.rowCount >= this.limit;
+    }
+}
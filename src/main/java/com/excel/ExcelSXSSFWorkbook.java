@@ -0,0 +1,164 @@
+package com.excel;
+
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.streaming.SheetDataWriter;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 按{@link ExcelTempStorage}存放Sheet临时数据的SXSSFWorkbook
+ * <p>
+ * 临时文件统一使用{@link ExcelTempStorage#FILE_PREFIX}前缀，写入时累计占用字节数，超过配额时抛出异常，
+ * {@link #dispose()}时释放占用
+ *
+ * @author: MingWei Yang
+ */
+public class ExcelSXSSFWorkbook extends SXSSFWorkbook {
+
+    /**
+     * 内存模式的占位文件序号
+     */
+    private static final AtomicLong MEMORY_FILE_ID = new AtomicLong();
+
+    private final ExcelTempStorage storage;
+
+    /**
+     * 本次导出占用的临时数据字节数
+     */
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    public ExcelSXSSFWorkbook(ExcelTempStorage storage) {
+        super(null, SXSSFWorkbook.DEFAULT_WINDOW_SIZE, ExcelTempStorage.Mode.GZIP == storage.getMode());
+        this.storage = storage;
+    }
+
+    public ExcelTempStorage getStorage() {
+        return this.storage;
+    }
+
+    /**
+     * 本次导出占用的临时数据字节数
+     *
+     * @return
+     */
+    public long getUsedBytes() {
+        return this.usedBytes.get();
+    }
+
+    @Override
+    protected SheetDataWriter createSheetDataWriter() throws IOException {
+        return new TempSheetDataWriter();
+    }
+
+    @Override
+    public boolean dispose() {
+        try {
+            boolean disposed = super.dispose();
+            //内存模式没有临时文件，父类删除文件的结果始终为false
+            return ExcelTempStorage.Mode.MEMORY == this.storage.getMode() || disposed;
+        } finally {
+            ExcelTempStorage.usedBytesCounter().addAndGet(-this.usedBytes.getAndSet(0));
+        }
+    }
+
+    /**
+     * 按存储策略写入的Sheet数据
+     */
+    private class TempSheetDataWriter extends SheetDataWriter {
+
+        /**
+         * 内存模式的数据，在父类构造方法中赋值，不能有初始值
+         */
+        private ByteArrayOutputStream buffer;
+
+        TempSheetDataWriter() throws IOException {
+            super(_sharedStringSource);
+        }
+
+        @Override
+        public File createTempFile() throws IOException {
+            File directory = storage.getDirectory();
+            if (ExcelTempStorage.Mode.MEMORY == storage.getMode()) {
+                //内存模式不在磁盘上创建文件，只返回不存在的路径供父类dispose时删除
+                return new File(directory, ExcelTempStorage.FILE_PREFIX + "memory-" + MEMORY_FILE_ID.incrementAndGet() + ".xml");
+            }
+            if (!directory.exists() && !directory.mkdirs() && !directory.isDirectory()) {
+                throw new IOException("无法创建临时目录：" + directory);
+            }
+            return File.createTempFile(ExcelTempStorage.FILE_PREFIX, ".xml", directory);
+        }
+
+        @Override
+        public Writer createWriter(File fd) throws IOException {
+            if (ExcelTempStorage.Mode.MEMORY != storage.getMode()) {
+                return super.createWriter(fd);
+            }
+            this.buffer = new ByteArrayOutputStream(64 * 1024);
+            return new BufferedWriter(new OutputStreamWriter(new QuotaOutputStream(this.buffer), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        protected OutputStream decorateOutputStream(FileOutputStream fos) throws IOException {
+            OutputStream out = new QuotaOutputStream(fos);
+            return ExcelTempStorage.Mode.GZIP == storage.getMode() ? new GZIPOutputStream(out) : out;
+        }
+
+        @Override
+        protected InputStream decorateInputStream(FileInputStream fis) throws IOException {
+            return ExcelTempStorage.Mode.GZIP == storage.getMode() ? new GZIPInputStream(fis) : fis;
+        }
+
+        @Override
+        public InputStream getWorksheetXMLInputStream() throws IOException {
+            if (ExcelTempStorage.Mode.MEMORY != storage.getMode()) {
+                return super.getWorksheetXMLInputStream();
+            }
+            return new ByteArrayInputStream(this.buffer.toByteArray());
+        }
+    }
+
+    /**
+     * 累计写入字节数并检查配额
+     */
+    private class QuotaOutputStream extends FilterOutputStream {
+
+        QuotaOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            this.count(1);
+            this.out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            this.count(len);
+            this.out.write(b, off, len);
+        }
+
+        private void count(int len) throws IOException {
+            long used = usedBytes.addAndGet(len);
+            ExcelTempStorage.usedBytesCounter().addAndGet(len);
+            if (storage.getQuotaBytes() > 0 && used > storage.getQuotaBytes()) {
+                throw new IOException("导出临时数据超过配额：" + storage.getQuotaBytes() + "字节");
+            }
+        }
+    }
+}
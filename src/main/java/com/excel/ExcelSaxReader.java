@@ -0,0 +1,277 @@
+package com.excel;
+
+import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.util.StrUtil;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * xlsx流式读取（XSSF事件模型）
+ * <p>
+ * 直接以SAX解析第一个Sheet的XML，不创建XSSF DOM和整表List，
+ * 日期格式转为DateTime，无小数格式的整数转为Long，带小数格式（如0.00）的整数仍为Double。
+ * 与hutool ExcelReader不同：t="d"（ISO日期）、e（错误）、str（公式字符串）按原始文本返回，不做转换。
+ * 处理器跳过的单元格不取值，处理器读满limit行后停止解析
+ *
+ * @author: MingWei Yang
+ */
+public class ExcelSaxReader {
+
+    private ExcelSaxReader() {
+    }
+
+    /**
+     * 读取第一个Sheet
+     *
+     * @param pkg
+     * @param handler
+     * @throws Exception
+     */
+    public static void read(OPCPackage pkg, ExcelRowHandler<?> handler) throws Exception {
+        XSSFReader reader = new XSSFReader(pkg);
+        ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+        StylesTable styles = reader.getStylesTable();
+        Iterator<InputStream> sheets = reader.getSheetsData();
+        if (!sheets.hasNext()) {
+            return;
+        }
+        try (InputStream sheet = sheets.next()) {
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new SheetHandler(strings, styles, handler));
+            parser.parse(new InputSource(sheet));
+        } catch (StopParsingException ex) {
+            //已读满limit行
+        }
+    }
+
+    /**
+     * 停止解析，不记录堆栈
+     */
+    private static class StopParsingException extends SAXException {
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    /**
+     * Sheet XML处理
+     */
+    private static class SheetHandler extends DefaultHandler {
+
+        private static final byte FORMAT_GENERAL = 0;
+
+        private static final byte FORMAT_DECIMAL = 1;
+
+        private static final byte FORMAT_DATE = 2;
+
+        private final ReadOnlySharedStringsTable strings;
+
+        private final StylesTable styles;
+
+        private final ExcelRowHandler<?> handler;
+
+        /**
+         * 以样式下标缓存的数字格式类型，未解析为-1
+         */
+        private byte[] formatCache = new byte[0];
+
+        private final StringBuilder text = new StringBuilder(64);
+
+        private boolean inValue;
+
+        private boolean hasValue;
+
+        private int colIndex;
+
+        private String cellType;
+
+        private int styleIndex;
+
+        SheetHandler(ReadOnlySharedStringsTable strings, StylesTable styles, ExcelRowHandler<?> handler) {
+            this.strings = strings;
+            this.styles = styles;
+            this.handler = handler;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row":
+                    this.colIndex = -1;
+                    String rowNum = attributes.getValue("r");
+                    if (null == rowNum) {
+                        this.handler.startRow();
+                    } else {
+                        this.handler.startRow(Integer.parseInt(rowNum) - 1);
+                    }
+                    break;
+                case "c":
+                    String ref = attributes.getValue("r");
+                    this.colIndex = null == ref ? this.colIndex + 1 : columnIndex(ref);
+                    this.cellType = attributes.getValue("t");
+                    String style = attributes.getValue("s");
+                    this.styleIndex = null == style ? -1 : Integer.parseInt(style);
+                    this.hasValue = false;
+                    this.text.setLength(0);
+                    break;
+                case "v":
+                case "t":
+                    this.inValue = true;
+                    this.hasValue = true;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (this.inValue) {
+                this.text.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            switch (localName) {
+                case "v":
+                case "t":
+                    this.inValue = false;
+                    break;
+                case "c":
+                    if (!this.hasValue) {
+                        this.handler.cell(this.colIndex, null);
+                    } else if (!this.handler.isSkipped(this.colIndex)) {
+                        this.handler.cell(this.colIndex, cellValue());
+                    } else if (!this.isBlank()) {
+                        this.handler.skipCell(this.colIndex);
+                    }
+                    break;
+                case "row":
+                    this.handler.endRow();
+                    if (this.handler.isFinished()) {
+                        throw new StopParsingException();
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        /**
+         * 跳过的单元格是否为空值，空字符串不计入非空单元格
+         *
+         * @return
+         */
+        private boolean isBlank() {
+            if (this.text.length() == 0) {
+                return true;
+            }
+            return "s".equals(this.cellType) && this.strings.getItemAt(Integer.parseInt(this.text.toString())).getString().isEmpty();
+        }
+
+        /**
+         * 转换单元格值
+         *
+         * @return
+         */
+        private Object cellValue() {
+            String value = this.text.toString();
+            if (null == this.cellType || "n".equals(this.cellType)) {
+                return numericValue(value);
+            }
+            switch (this.cellType) {
+                case "s":
+                    return this.strings.getItemAt(Integer.parseInt(value)).getString();
+                case "b":
+                    return "1".equals(value);
+                default:
+                    //inlineStr、str（公式）、e（错误）、d（ISO日期）按文本返回
+                    return value;
+            }
+        }
+
+        private Object numericValue(String value) {
+            if (value.isEmpty()) {
+                return null;
+            }
+            double number = Double.parseDouble(value);
+            byte format = this.styleIndex < 0 ? FORMAT_GENERAL : format(this.styleIndex);
+            if (format == FORMAT_DATE) {
+                return DateUtil.date(org.apache.poi.ss.usermodel.DateUtil.getJavaDate(number));
+            }
+            if (format == FORMAT_GENERAL) {
+                long longPart = (long) number;
+                if (((double) longPart) == number) {
+                    return longPart;
+                }
+            }
+            return number;
+        }
+
+        private byte format(int styleIndex) {
+            if (styleIndex >= this.formatCache.length) {
+                byte[] cache = new byte[Math.max(styleIndex + 1, this.formatCache.length * 2)];
+                Arrays.fill(cache, (byte) -1);
+                System.arraycopy(this.formatCache, 0, cache, 0, this.formatCache.length);
+                this.formatCache = cache;
+            }
+            byte format = this.formatCache[styleIndex];
+            if (format < 0) {
+                format = resolveFormat(styleIndex);
+                this.formatCache[styleIndex] = format;
+            }
+            return format;
+        }
+
+        private byte resolveFormat(int styleIndex) {
+            XSSFCellStyle style = this.styles.getStyleAt(styleIndex);
+            if (null == style) {
+                return FORMAT_GENERAL;
+            }
+            short formatIndex = style.getDataFormat();
+            String formatString = style.getDataFormatString();
+            if (null == formatString) {
+                formatString = BuiltinFormats.getBuiltinFormat(formatIndex);
+            }
+            if (org.apache.poi.ss.usermodel.DateUtil.isADateFormat(formatIndex, formatString)) {
+                return FORMAT_DATE;
+            }
+            return null != formatString && formatString.indexOf(StrUtil.C_DOT) >= 0 ? FORMAT_DECIMAL : FORMAT_GENERAL;
+        }
+    }
+
+    /**
+     * 单元格引用（如AB12）转换为列下标
+     *
+     * @param ref
+     * @return
+     */
+    static int columnIndex(String ref) {
+        int col = 0;
+        for (int i = 0; i < ref.length(); i++) {
+            char ch = ref.charAt(i);
+            if (ch < 'A' || ch > 'Z') {
+                break;
+            }
+            col = col * 26 + (ch - 'A' + 1);
+        }
+        return col - 1;
+    }
+}
@@ -0,0 +1,139 @@
+package com.excel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 有界共享字符串表
+ * <p>
+ * 字符串第二次出现时才加入共享字符串表，只出现一次的仍写为内联字符串；
+ * 单列在一个Sheet中的不同字符串超过基数上限时视为高基数列，后续新字符串改为内联。
+ * 表满后新字符串全部内联，内存占用不超过上限
+ *
+ * @author: MingWei Yang
+ */
+public class ExcelSharedStrings {
+
+    /**
+     * 默认表大小上限
+     */
+    public static final int DEFAULT_MAX_SIZE = 1 << 16;
+
+    /**
+     * 默认单列基数上限
+     */
+    public static final int DEFAULT_MAX_COLUMN_CARDINALITY = 1024;
+
+    private final int maxSize;
+
+    private final int maxColumnCardinality;
+
+    private final Map<String, Integer> indexes = new HashMap<>();
+
+    private final List<String> strings = new ArrayList<>();
+
+    /**
+     * 只出现过一次的字符串
+     */
+    private final Set<String> candidates = new HashSet<>();
+
+    /**
+     * 当前Sheet各列出现过的不同字符串数
+     */
+    private int[] columnCardinality = new int[16];
+
+    private boolean[] inlineColumns = new boolean[16];
+
+    /**
+     * 引用共享字符串的单元格数
+     */
+    private long referenceCount;
+
+    private long inlineCount;
+
+    public ExcelSharedStrings() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_MAX_COLUMN_CARDINALITY);
+    }
+
+    /**
+     * @param maxSize              表大小上限
+     * @param maxColumnCardinality 单列基数上限
+     */
+    public ExcelSharedStrings(int maxSize, int maxColumnCardinality) {
+        this.maxSize = maxSize;
+        this.maxColumnCardinality = maxColumnCardinality;
+    }
+
+    /**
+     * 获取字符串在表中的下标
+     *
+     * @param col
+     * @param text
+     * @return 写为内联字符串时为-1
+     */
+    public int indexOf(int col, String text) {
+        Integer index = this.indexes.get(text);
+        if (null != index) {
+            this.referenceCount++;
+            return index;
+        }
+        if (col >= this.inlineColumns.length) {
+            int length = Math.max(col + 1, this.inlineColumns.length * 2);
+            this.inlineColumns = Arrays.copyOf(this.inlineColumns, length);
+            this.columnCardinality = Arrays.copyOf(this.columnCardinality, length);
+        }
+        if (this.inlineColumns[col] || this.strings.size() >= this.maxSize) {
+            this.inlineCount++;
+            return -1;
+        }
+        if (this.candidates.remove(text)) {
+            int newIndex = this.strings.size();
+            this.strings.add(text);
+            this.indexes.put(text, newIndex);
+            this.referenceCount++;
+            return newIndex;
+        }
+        if (++this.columnCardinality[col] > this.maxColumnCardinality) {
+            this.inlineColumns[col] = true;
+        } else if (this.candidates.size() < this.maxSize) {
+            this.candidates.add(text);
+        }
+        this.inlineCount++;
+        return -1;
+    }
+
+    /**
+     * 开始新的Sheet，重新统计各列基数
+     */
+    public void startSheet() {
+        Arrays.fill(this.columnCardinality, 0);
+        Arrays.fill(this.inlineColumns, false);
+        this.candidates.clear();
+    }
+
+    /**
+     * 表中的字符串数
+     *
+     * @return
+     */
+    public int size() {
+        return this.strings.size();
+    }
+
+    public String get(int index) {
+        return this.strings.get(index);
+    }
+
+    public long getReferenceCount() {
+        return this.referenceCount;
+    }
+
+    public long getInlineCount() {
+        return this.inlineCount;
+    }
+}
@@ -0,0 +1,95 @@
+package com.excel;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.VerticalAlignment;
+
+/**
+ * 单元格样式属性，作为{@link ExcelStylePool}的key
+ * <p>
+ * 为null的属性沿用基础样式
+ *
+ * @author: MingWei Yang
+ */
+@Data
+@Accessors(chain = true)
+public class ExcelStyleKey {
+
+    /**
+     * 字体名称
+     */
+    private String fontName;
+
+    /**
+     * 字号（磅）
+     */
+    private Short fontHeight;
+
+    private Boolean bold;
+
+    private Boolean italic;
+
+    /**
+     * 字体颜色，IndexedColors下标
+     */
+    private Short fontColor;
+
+    /**
+     * 填充颜色，IndexedColors下标
+     */
+    private Short fillColor;
+
+    /**
+     * 填充方式，设置了填充颜色时默认实心
+     */
+    private FillPatternType fillPattern;
+
+    /**
+     * 数据格式，如yyyy-MM-dd、#,##0.00
+     */
+    private String dataFormat;
+
+    private HorizontalAlignment alignment;
+
+    private VerticalAlignment verticalAlignment;
+
+    /**
+     * 四周边框
+     */
+    private BorderStyle border;
+
+    private Boolean wrapText;
+
+    /**
+     * 是否设置了字体属性
+     *
+     * @return
+     */
+    public boolean hasFont() {
+        return null != this.fontName || null != this.fontHeight || null != this.bold || null != this.italic || null != this.fontColor;
+    }
+
+    /**
+     * 复制，样式池内保存副本，防止外部修改key
+     *
+     * @return
+     */
+    public ExcelStyleKey copy() {
+        return new ExcelStyleKey()
+                .setFontName(this.fontName)
+                .setFontHeight(this.fontHeight)
+                .setBold(this.bold)
+                .setItalic(this.italic)
+                .setFontColor(this.fontColor)
+                .setFillColor(this.fillColor)
+                .setFillPattern(this.fillPattern)
+                .setDataFormat(this.dataFormat)
+                .setAlignment(this.alignment)
+                .setVerticalAlignment(this.verticalAlignment)
+                .setBorder(this.border)
+                .setWrapText(this.wrapText);
+    }
+}
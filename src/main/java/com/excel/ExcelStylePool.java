@@ -0,0 +1,169 @@
+package com.excel;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 单元格样式池
+ * <p>
+ * 相同属性的样式只创建一次并共享，避免逐单元格创建CellStyle超出工作簿样式上限（xlsx为64000）。
+ * 样式数量达到上限后返回基础样式并计入溢出次数。非线程安全，与ExcelWriter同线程使用
+ *
+ * @author: MingWei Yang
+ */
+public class ExcelStylePool {
+
+    /**
+     * 默认样式数量上限
+     */
+    public static final int DEFAULT_MAX_SIZE = 4000;
+
+    private final Workbook workbook;
+
+    /**
+     * 基础样式，新样式从基础样式复制
+     */
+    private final CellStyle baseStyle;
+
+    private final int maxSize;
+
+    private final Map<ExcelStyleKey, CellStyle> styles = new HashMap<>();
+
+    private final Map<List<Object>, Font> fonts = new HashMap<>();
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long overflowCount;
+
+    public ExcelStylePool(Workbook workbook, CellStyle baseStyle) {
+        this(workbook, baseStyle, DEFAULT_MAX_SIZE);
+    }
+
+    public ExcelStylePool(Workbook workbook, CellStyle baseStyle, int maxSize) {
+        this.workbook = workbook;
+        this.baseStyle = baseStyle;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 获取共享样式
+     *
+     * @param key
+     * @return 超出上限时返回基础样式
+     */
+    public CellStyle getStyle(ExcelStyleKey key) {
+        CellStyle style = this.styles.get(key);
+        if (null != style) {
+            this.hitCount++;
+            return style;
+        }
+        if (this.styles.size() >= this.maxSize) {
+            this.overflowCount++;
+            return this.baseStyle;
+        }
+        this.missCount++;
+        style = this.createStyle(key);
+        this.styles.put(key.copy(), style);
+        return style;
+    }
+
+    public int size() {
+        return this.styles.size();
+    }
+
+    public long getHitCount() {
+        return this.hitCount;
+    }
+
+    public long getMissCount() {
+        return this.missCount;
+    }
+
+    public long getOverflowCount() {
+        return this.overflowCount;
+    }
+
+    private CellStyle createStyle(ExcelStyleKey key) {
+        CellStyle style = this.workbook.createCellStyle();
+        if (null != this.baseStyle) {
+            style.cloneStyleFrom(this.baseStyle);
+        }
+        if (null != key.getDataFormat()) {
+            style.setDataFormat(this.workbook.createDataFormat().getFormat(key.getDataFormat()));
+        }
+        if (null != key.getAlignment()) {
+            style.setAlignment(key.getAlignment());
+        }
+        if (null != key.getVerticalAlignment()) {
+            style.setVerticalAlignment(key.getVerticalAlignment());
+        }
+        if (null != key.getFillColor()) {
+            style.setFillForegroundColor(key.getFillColor());
+            style.setFillPattern(null != key.getFillPattern() ? key.getFillPattern() : FillPatternType.SOLID_FOREGROUND);
+        } else if (null != key.getFillPattern()) {
+            style.setFillPattern(key.getFillPattern());
+        }
+        if (null != key.getBorder()) {
+            style.setBorderTop(key.getBorder());
+            style.setBorderRight(key.getBorder());
+            style.setBorderBottom(key.getBorder());
+            style.setBorderLeft(key.getBorder());
+        }
+        if (null != key.getWrapText()) {
+            style.setWrapText(key.getWrapText());
+        }
+        if (key.hasFont()) {
+            style.setFont(this.getFont(key));
+        }
+        return style;
+    }
+
+    /**
+     * 获取共享字体，字体属性相同的样式共用一个Font
+     *
+     * @param key
+     * @return
+     */
+    private Font getFont(ExcelStyleKey key) {
+        List<Object> fontKey = Arrays.asList(key.getFontName(), key.getFontHeight(), key.getBold(), key.getItalic(), key.getFontColor());
+        Font font = this.fonts.get(fontKey);
+        if (null != font) {
+            return font;
+        }
+        Font baseFont = null == this.baseStyle ? null : this.workbook.getFontAt(this.baseStyle.getFontIndex());
+        font = this.workbook.createFont();
+        if (null != baseFont) {
+            font.setFontName(baseFont.getFontName());
+            font.setFontHeight(baseFont.getFontHeight());
+            font.setBold(baseFont.getBold());
+            font.setItalic(baseFont.getItalic());
+            font.setColor(baseFont.getColor());
+        }
+        if (null != key.getFontName()) {
+            font.setFontName(key.getFontName());
+        }
+        if (null != key.getFontHeight()) {
+            font.setFontHeightInPoints(key.getFontHeight());
+        }
+        if (null != key.getBold()) {
+            font.setBold(key.getBold());
+        }
+        if (null != key.getItalic()) {
+            font.setItalic(key.getItalic());
+        }
+        if (null != key.getFontColor()) {
+            font.setColor(key.getFontColor());
+        }
+        this.fonts.put(fontKey, font);
+        return font;
+    }
+}
@@ -0,0 +1,152 @@
+package com.excel;
+
+import cn.hutool.core.io.FileUtil;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SXSSF临时文件存储策略
+ * <p>
+ * 每次导出单独指定：GZIP压缩临时文件（默认，与原导出一致）、不压缩写入指定目录、或小数据量时放在内存中。
+ * 可设置单次导出的临时数据配额，超出时导出失败
+ *
+ * @author: MingWei Yang
+ */
+public class ExcelTempStorage {
+
+    /**
+     * 临时文件名前缀，清理残留文件时按前缀匹配
+     */
+    public static final String FILE_PREFIX = "excel-sxssf-";
+
+    /**
+     * gzip压缩临时文件，使用系统临时目录
+     */
+    public static final ExcelTempStorage GZIP = new ExcelTempStorage(Mode.GZIP, null, 0);
+
+    /**
+     * 全部导出当前占用的临时数据字节数
+     */
+    private static final AtomicLong USED_BYTES = new AtomicLong();
+
+    public enum Mode {
+        /**
+         * gzip压缩后写入临时文件，省磁盘，多耗CPU
+         */
+        GZIP,
+        /**
+         * 不压缩直接写入临时文件
+         */
+        PLAIN,
+        /**
+         * 写入内存，仅适用于小数据量导出
+         */
+        MEMORY
+    }
+
+    private final Mode mode;
+
+    private final File directory;
+
+    private final long quotaBytes;
+
+    private ExcelTempStorage(Mode mode, File directory, long quotaBytes) {
+        this.mode = mode;
+        this.directory = directory;
+        this.quotaBytes = quotaBytes;
+    }
+
+    /**
+     * gzip压缩临时文件
+     *
+     * @param directory 临时目录，为null时使用系统临时目录
+     * @return
+     */
+    public static ExcelTempStorage gzip(File directory) {
+        return new ExcelTempStorage(Mode.GZIP, directory, 0);
+    }
+
+    /**
+     * 不压缩的临时文件
+     *
+     * @param directory 临时目录，为null时使用系统临时目录
+     * @return
+     */
+    public static ExcelTempStorage plain(File directory) {
+        return new ExcelTempStorage(Mode.PLAIN, directory, 0);
+    }
+
+    /**
+     * 内存临时数据
+     *
+     * @return
+     */
+    public static ExcelTempStorage memory() {
+        return new ExcelTempStorage(Mode.MEMORY, null, 0);
+    }
+
+    /**
+     * 设置单次导出的临时数据配额
+     *
+     * @param quotaBytes 字节数，小于等于0时不限制
+     * @return 新的存储策略
+     */
+    public ExcelTempStorage withQuota(long quotaBytes) {
+        return new ExcelTempStorage(this.mode, this.directory, quotaBytes);
+    }
+
+    public Mode getMode() {
+        return this.mode;
+    }
+
+    /**
+     * 临时目录
+     *
+     * @return
+     */
+    public File getDirectory() {
+        return null != this.directory ? this.directory : FileUtil.getTmpDir();
+    }
+
+    public long getQuotaBytes() {
+        return this.quotaBytes;
+    }
+
+    /**
+     * 全部导出当前占用的临时数据字节数，gzip模式为压缩后的大小
+     *
+     * @return
+     */
+    public static long getUsedBytes() {
+        return USED_BYTES.get();
+    }
+
+    static AtomicLong usedBytesCounter() {
+        return USED_BYTES;
+    }
+
+    /**
+     * 清理进程异常退出后残留的临时文件
+     *
+     * @param directory 临时目录，为null时使用系统临时目录
+     * @param maxAge    只删除最后修改时间早于该时长的文件，避免误删进行中导出的文件
+     * @return 删除的文件数
+     */
+    public static int cleanOrphans(File directory, Duration maxAge) {
+        File dir = null != directory ? directory : FileUtil.getTmpDir();
+        File[] files = dir.listFiles((parent, name) -> name.startsWith(FILE_PREFIX));
+        if (null == files) {
+            return 0;
+        }
+        long expireTime = System.currentTimeMillis() - maxAge.toMillis();
+        int count = 0;
+        for (File file : files) {
+            if (file.isFile() && file.lastModified() < expireTime && file.delete()) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -17,22 +17,36 @@ import cn.hutool.poi.excel.cell.CellLocation;
 import cn.hutool.poi.excel.cell.CellUtil;
 import cn.hutool.poi.excel.style.Align;
 import com.google.common.collect.Lists;
+import io.micrometer.core.instrument.Timer;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.CellRangeAddress;
 import org.apache.poi.ss.util.CellRangeAddressList;
+import org.apache.poi.ss.util.RegionUtil;
 import org.apache.poi.xssf.streaming.SXSSFSheet;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFDataValidation;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -40,11 +54,24 @@ import java.lang.annotation.Target;
 import java.lang.reflect.Field;
 import java.net.URLEncoder;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 /**
  * Hutool excel导出工具封装
@@ -53,6 +80,7 @@ import java.util.concurrent.atomic.AtomicInteger;
  * @since: 2020/10/29 17:57
  * @description: excel导出工具
  */
+@Slf4j
 public class ExcelUtils extends ExcelUtil {
 
     /**
@@ -86,6 +114,11 @@ public class ExcelUtils extends ExcelUtil {
         int col() default 0;
 
         boolean required() default false;
+
+        /**
+         * 导入时的单元格值转换，默认按字段类型转换
+         */
+        Class<? extends ExcelCellConverter> converter() default ExcelCellConverter.class;
     }
 
     /**
@@ -99,6 +132,26 @@ public class ExcelUtils extends ExcelUtil {
         int col() default 1;
     }
 
+    /**
+     * excel导出引擎
+     */
+    public enum ExcelEngine {
+        /**
+         * POI SXSSF，支持ExcelWriter的全部功能
+         */
+        SXSSF,
+        /**
+         * 直写SpreadsheetML，不创建POI对象和临时文件，仅支持默认样式。
+         * 列宽只取@ExcelColumn的width（列定义须在行数据之前写出），忽略{@link Excel#autoWidth}；
+         * 单线程顺序写出，忽略{@link Excel#parallelism}
+         */
+        XML,
+        /**
+         * 直写SpreadsheetML，低基数列的重复字符串写入有界共享字符串表，文件更小，限制与{@link #XML}相同
+         */
+        XML_SHARED_STRINGS
+    }
+
     /**
      * excel封装属性对象
      */
@@ -118,18 +171,97 @@ public class ExcelUtils extends ExcelUtil {
          * 合并单元格
          */
         private List<ExcelUtilsMerge> mergeList;
+        /**
+         * 流式数据源，不为空时优先于coll，写入时逐条拉取，只能写出一次
+         */
+        private Iterable<T> source;
+        /**
+         * 按内容估算列宽，仅{@link ExcelEngine#SXSSF}生效
+         */
+        private boolean autoWidth;
+        /**
+         * 并行取值线程数，大于1时由工作线程从Bean取值，写Sheet仍在当前线程按顺序进行，仅{@link ExcelEngine#SXSSF}生效
+         */
+        private int parallelism;
+        /**
+         * 构建数据源的Stream，导出结束（包括失败）后关闭，释放数据库游标和连接
+         */
+        private Stream<T> stream;
 
         public Excel(Class<T> cls, Collection<T> coll) {
             this.cls = cls;
             this.coll = coll;
         }
 
+        public Excel(Class<T> cls, Collection<T> coll, List<ExcelUtilsMerge> mergeList) {
+            this.cls = cls;
+            this.coll = coll;
+            this.mergeList = mergeList;
+        }
+
         public static <T> Excel<T> build(Class<T> cls, Collection<T> coll) {
             Excel<T> excel = new Excel();
             excel.setCls(cls);
             excel.setColl(coll);
             return excel;
         }
+
+        /**
+         * 待写出的数据，优先使用流式数据源
+         *
+         * @return
+         */
+        public Iterable<T> rows() {
+            if (null != this.source) {
+                return this.source;
+            }
+            return null != this.coll ? this.coll : Collections.emptyList();
+        }
+
+        public static <T> Excel<T> build(Class<T> cls, Iterator<T> iterator) {
+            Excel<T> excel = new Excel();
+            excel.setCls(cls);
+            excel.setSource(() -> iterator);
+            return excel;
+        }
+
+        /**
+         * 以Stream为数据源，导出结束后自动关闭Stream
+         *
+         * @param cls
+         * @param stream
+         * @param <T>
+         * @return
+         */
+        public static <T> Excel<T> build(Class<T> cls, Stream<T> stream) {
+            Excel<T> excel = build(cls, stream.iterator());
+            excel.setStream(stream);
+            return excel;
+        }
+
+        /**
+         * 关闭构建数据源的Stream
+         */
+        public void closeStream() {
+            Stream<T> stream = this.stream;
+            this.stream = null;
+            if (null != stream) {
+                stream.close();
+            }
+        }
+
+        /**
+         * 分页拉取数据
+         *
+         * @param cls
+         * @param pageSize
+         * @param pageFetcher 分页查询，参数为页码（从1开始）和每页条数
+         * @param <T>
+         * @return
+         */
+        public static <T> Excel<T> build(Class<T> cls, int pageSize, BiFunction<Integer, Integer, ? extends Collection<T>> pageFetcher) {
+            return build(cls, new ExcelPageIterator<>(pageSize, pageFetcher));
+        }
     }
 
     public static class ExcelWriter extends ExcelBase<ExcelWriter> {
@@ -140,6 +272,32 @@ public class ExcelUtils extends ExcelUtil {
         private Comparator<String> aliasComparator;
         private StyleSet styleSet;
         private Map<String, Integer> headLocationCache;
+        private ExcelWritePlan rowPlan;
+        private int[] rowPlanLocations;
+        private Deque<ExcelUtilsMerge> pendingMerges;
+        /**
+         * 行跨度超过窗口上限的待合并区域，按开始行排序
+         */
+        private Deque<ExcelUtilsMerge> longMerges;
+        /**
+         * 已开始写出的长区域
+         */
+        private List<LongMerge> activeMerges;
+        private ExcelStylePool stylePool;
+        private int autoWidthSampleRate;
+        private Map<Sheet, ExcelColumnWidth> columnWidths = new IdentityHashMap<>();
+        /**
+         * 并行写出时每批行数
+         */
+        private static final int ROW_BATCH_SIZE = 512;
+        /**
+         * SXSSF窗口为合并区域扩大的上限行数，行跨度更大的区域逐行设置边框，不再扩大窗口
+         */
+        static final int MAX_MERGE_WINDOW_SIZE = 2000;
+        /**
+         * 通过{@link #setRowExecutor}设置的并行取值线程池，为null时使用{@link RowExecutorHolder#DEFAULT}
+         */
+        private static volatile ExecutorService rowExecutor;
 
         public ExcelWriter() {
             this(false);
@@ -195,6 +353,11 @@ public class ExcelUtils extends ExcelUtil {
         public ExcelWriter reset() {
             this.resetRow();
             this.headLocationCache = null;
+            this.rowPlan = null;
+            this.rowPlanLocations = null;
+            this.pendingMerges = null;
+            this.longMerges = null;
+            this.activeMerges = null;
             return this;
         }
 
@@ -419,11 +582,7 @@ public class ExcelUtils extends ExcelUtil {
 
         public ExcelWriter merge(int firstRow, int lastRow, int firstColumn, int lastColumn, Object content, boolean isSetHeaderStyle) {
             Assert.isFalse(this.isClosed, "ExcelWriter has been closed!", new Object[0]);
-            CellStyle style = null;
-            if (null != this.styleSet) {
-                style = isSetHeaderStyle && null != this.styleSet.getHeadCellStyle() ? this.styleSet.getHeadCellStyle() : this.styleSet.getCellStyle();
-            }
-
+            CellStyle style = this.getMergeStyle(isSetHeaderStyle);
             CellUtil.mergingCells(this.sheet, firstRow, lastRow, firstColumn, lastColumn, style);
             if (null != content) {
                 Cell cell = this.getOrCreateCell(firstColumn, firstRow);
@@ -433,6 +592,172 @@ public class ExcelUtils extends ExcelUtil {
             return this;
         }
 
+        /**
+         * 批量合并单元格，一次性校验重叠后跳过POI逐个区域的重叠检查
+         *
+         * @param mergeList
+         * @return
+         */
+        public ExcelWriter merge(List<ExcelUtilsMerge> mergeList) {
+            Assert.isFalse(this.isClosed, "ExcelWriter has been closed!", new Object[0]);
+            if (CollUtil.isEmpty(mergeList)) {
+                return this;
+            }
+            this.checkMergeOverlap(mergeList);
+            for (ExcelUtilsMerge merge : mergeList) {
+                this.mergeUnchecked(merge);
+            }
+            return this;
+        }
+
+        private void checkMergeOverlap(List<ExcelUtilsMerge> mergeList) {
+            List<CellRangeAddress> regions = new ArrayList<>(mergeList.size());
+            for (ExcelUtilsMerge merge : mergeList) {
+                regions.add(new CellRangeAddress(merge.getFirstRow(), merge.getLastRow(), merge.getFirstColumn(), merge.getLastColumn()));
+            }
+            ExcelMergeIndex.checkOverlap(this.sheet.getMergedRegions(), regions);
+        }
+
+        /**
+         * 合并已校验过重叠的区域
+         *
+         * @param merge
+         */
+        private void mergeUnchecked(ExcelUtilsMerge merge) {
+            CellRangeAddress region = new CellRangeAddress(merge.getFirstRow(), merge.getLastRow(), merge.getFirstColumn(), merge.getLastColumn());
+            CellStyle style = this.getMergeStyle(merge.isSetHeaderStyle());
+            if (null != style) {
+                RegionUtil.setBorderTop(style.getBorderTop(), region, this.sheet);
+                RegionUtil.setBorderRight(style.getBorderRight(), region, this.sheet);
+                RegionUtil.setBorderBottom(style.getBorderBottom(), region, this.sheet);
+                RegionUtil.setBorderLeft(style.getBorderLeft(), region, this.sheet);
+            }
+            this.sheet.addMergedRegionUnsafe(region);
+            if (null != merge.getContent()) {
+                Cell cell = this.getOrCreateCell(merge.getFirstColumn(), merge.getFirstRow());
+                CellUtil.setCellValue(cell, merge.getContent(), this.styleSet, merge.isSetHeaderStyle());
+            }
+        }
+
+        private CellStyle getMergeStyle(boolean isSetHeaderStyle) {
+            if (null == this.styleSet) {
+                return null;
+            }
+            return isSetHeaderStyle && null != this.styleSet.getHeadCellStyle() ? this.styleSet.getHeadCellStyle() : this.styleSet.getCellStyle();
+        }
+
+        /**
+         * 设置待合并单元格，按结束行排序，写入数据时在结束行写出后立即合并，
+         * 合并区域仍在SXSSF窗口内，无需关闭窗口。
+         * 行跨度超过{@link #MAX_MERGE_WINDOW_SIZE}的区域不扩大窗口，边框和内容随每行写出时设置，
+         * 结束行写出后再注册合并区域。设置时一次性校验重叠，合并时不再逐个检查
+         *
+         * @param mergeList
+         * @return
+         */
+        public ExcelWriter setPendingMerges(List<ExcelUtilsMerge> mergeList) {
+            this.longMerges = null;
+            this.activeMerges = null;
+            if (CollUtil.isEmpty(mergeList)) {
+                this.pendingMerges = null;
+                return this;
+            }
+            this.checkMergeOverlap(mergeList);
+            List<ExcelUtilsMerge> sorted = new ArrayList<>(mergeList.size());
+            List<ExcelUtilsMerge> longSorted = new ArrayList<>();
+            for (ExcelUtilsMerge merge : mergeList) {
+                if (merge.getLastRow() - merge.getFirstRow() + 1 > MAX_MERGE_WINDOW_SIZE) {
+                    longSorted.add(merge);
+                } else {
+                    sorted.add(merge);
+                }
+            }
+            sorted.sort(Comparator.comparingInt(ExcelUtilsMerge::getLastRow).thenComparingInt(ExcelUtilsMerge::getFirstRow));
+            this.pendingMerges = new ArrayDeque<>(sorted);
+            if (!longSorted.isEmpty()) {
+                longSorted.sort(Comparator.comparingInt(ExcelUtilsMerge::getFirstRow));
+                this.longMerges = new ArrayDeque<>(longSorted);
+                this.activeMerges = new ArrayList<>();
+            }
+            return this;
+        }
+
+        /**
+         * 合并剩余的待合并单元格
+         *
+         * @return
+         */
+        public ExcelWriter flushPendingMerges() {
+            if (null != this.longMerges) {
+                //数据行之后的长区域逐行补齐边框，按行递增创建，不回写已刷出的行
+                int lastRow = this.currentRow.get() - 1;
+                for (ExcelUtilsMerge merge : this.longMerges) {
+                    lastRow = Math.max(lastRow, merge.getLastRow());
+                }
+                for (LongMerge merge : this.activeMerges) {
+                    lastRow = Math.max(lastRow, merge.region.getLastRow());
+                }
+                for (int rowIndex = this.currentRow.get() - 1; rowIndex <= lastRow; rowIndex++) {
+                    this.applyLongMerges(rowIndex);
+                }
+                this.longMerges = null;
+                this.activeMerges = null;
+            }
+            this.applyPendingMerges(Integer.MAX_VALUE);
+            this.pendingMerges = null;
+            return this;
+        }
+
+        private void applyPendingMerges(int rowIndex) {
+            Deque<ExcelUtilsMerge> merges = this.pendingMerges;
+            while (null != merges && !merges.isEmpty() && merges.peekFirst().getLastRow() <= rowIndex) {
+                this.mergeUnchecked(merges.pollFirst());
+            }
+            if (null != this.longMerges && rowIndex != Integer.MAX_VALUE) {
+                this.applyLongMerges(rowIndex);
+            }
+        }
+
+        /**
+         * 长区域设置到rowIndex行为止的边框和内容，结束行设置后注册合并区域
+         *
+         * @param rowIndex 已写出的行，仍在窗口内
+         */
+        private void applyLongMerges(int rowIndex) {
+            while (!this.longMerges.isEmpty() && this.longMerges.peekFirst().getFirstRow() <= rowIndex) {
+                this.activeMerges.add(new LongMerge(this.longMerges.pollFirst()));
+            }
+            Iterator<LongMerge> iterator = this.activeMerges.iterator();
+            while (iterator.hasNext()) {
+                LongMerge merge = iterator.next();
+                CellRangeAddress region = merge.region;
+                CellStyle style = this.getMergeStyle(merge.merge.isSetHeaderStyle());
+                for (int r = merge.nextRow; r <= Math.min(rowIndex, region.getLastRow()); r++) {
+                    if (null != style) {
+                        CellRangeAddress rowRegion = new CellRangeAddress(r, r, region.getFirstColumn(), region.getLastColumn());
+                        if (r == region.getFirstRow()) {
+                            RegionUtil.setBorderTop(style.getBorderTop(), rowRegion, this.sheet);
+                        }
+                        RegionUtil.setBorderRight(style.getBorderRight(), rowRegion, this.sheet);
+                        if (r == region.getLastRow()) {
+                            RegionUtil.setBorderBottom(style.getBorderBottom(), rowRegion, this.sheet);
+                        }
+                        RegionUtil.setBorderLeft(style.getBorderLeft(), rowRegion, this.sheet);
+                    }
+                    if (r == region.getFirstRow() && null != merge.merge.getContent()) {
+                        Cell cell = this.getOrCreateCell(region.getFirstColumn(), r);
+                        CellUtil.setCellValue(cell, merge.merge.getContent(), this.styleSet, merge.merge.isSetHeaderStyle());
+                    }
+                    merge.nextRow = r + 1;
+                }
+                if (merge.nextRow > region.getLastRow()) {
+                    //已刷出的行不影响合并区域注册
+                    this.sheet.addMergedRegionUnsafe(region);
+                    iterator.remove();
+                }
+            }
+        }
+
         public ExcelWriter write(Iterable<?> data) {
             return this.write(data, 0 == this.getCurrentRow());
         }
@@ -445,6 +770,9 @@ public class ExcelUtils extends ExcelUtil {
             while (var4.hasNext()) {
                 Object object = var4.next();
                 this.writeRow(object, isFirst && isWriteKeyAsHead);
+                if (null != this.pendingMerges) {
+                    this.applyPendingMerges(this.currentRow.get() - 1);
+                }
                 if (isFirst) {
                     isFirst = false;
                 }
@@ -453,6 +781,185 @@ public class ExcelUtils extends ExcelUtil {
             return this;
         }
 
+        /**
+         * 创建并行取值线程池
+         *
+         * @param threads 线程数
+         * @return
+         */
+        public static ExecutorService newRowExecutor(int threads) {
+            AtomicInteger threadIndex = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "excel-row-" + threadIndex.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+
+        /**
+         * 设置所有导出共用的并行取值线程池，原线程池不会关闭
+         *
+         * @param executor
+         */
+        public static void setRowExecutor(ExecutorService executor) {
+            rowExecutor = executor;
+        }
+
+        /**
+         * 所有导出共用的默认并行取值线程池，线程数为CPU核数，首次并行写出时才创建
+         */
+        private static class RowExecutorHolder {
+            private static final ExecutorService DEFAULT = newRowExecutor(Runtime.getRuntime().availableProcessors());
+        }
+
+        /**
+         * 并行取值写出：共用线程池按批从Bean取出属性值，当前线程按顺序写入Sheet，
+         * 待写入的批次数有上限，写入跟不上时暂停拉取数据
+         *
+         * @param data
+         * @param isWriteKeyAsHead
+         * @param parallelism      同时取值的批次数，实际线程数受共用线程池限制，小于等于1时与write(data, isWriteKeyAsHead)相同
+         * @return
+         */
+        public ExcelWriter write(Iterable<?> data, boolean isWriteKeyAsHead, int parallelism) {
+            Assert.isFalse(this.isClosed, "ExcelWriter has been closed!", new Object[0]);
+            Iterator<?> iterator = data.iterator();
+            if (parallelism <= 1 || MapUtil.isEmpty(this.headerAlias) || !iterator.hasNext()) {
+                return this.write(remaining(iterator), isWriteKeyAsHead);
+            }
+            //首行按原方式写出，同时写出表头、绑定写入计划
+            Object first = iterator.next();
+            this.writeRow(first, isWriteKeyAsHead);
+            if (null != this.pendingMerges) {
+                this.applyPendingMerges(this.currentRow.get() - 1);
+            }
+            ExcelWritePlan plan = null == first || first instanceof Map || first instanceof Iterable ? null : this.getRowPlan(first.getClass());
+            if (null == plan || plan.size() == 0 || MapUtil.isEmpty(this.headLocationCache)) {
+                return this.write(remaining(iterator), false);
+            }
+            if (null == this.rowPlanLocations || this.rowPlan != plan) {
+                this.rowPlan = plan;
+                this.rowPlanLocations = plan.bind(this.headLocationCache);
+            }
+            int[] locations = this.rowPlanLocations;
+
+            ExecutorService executor = rowExecutor;
+            if (null == executor) {
+                executor = RowExecutorHolder.DEFAULT;
+            }
+            Deque<Future<ExcelRowBuffer>> pending = new ArrayDeque<>(parallelism * 2);
+            try {
+                while (iterator.hasNext()) {
+                    Object[] beans = new Object[ROW_BATCH_SIZE];
+                    int count = 0;
+                    while (count < ROW_BATCH_SIZE && iterator.hasNext()) {
+                        beans[count++] = iterator.next();
+                    }
+                    int batchCount = count;
+                    pending.addLast(executor.submit(() -> ExcelRowBuffer.convert(plan, locations, beans, batchCount)));
+                    if (pending.size() >= parallelism * 2) {
+                        this.writeBuffer(awaitBuffer(pending.pollFirst()), locations);
+                    }
+                }
+                while (!pending.isEmpty()) {
+                    this.writeBuffer(awaitBuffer(pending.pollFirst()), locations);
+                }
+            } finally {
+                //出错时取消未写出的批次
+                for (Future<ExcelRowBuffer> future : pending) {
+                    future.cancel(true);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * 逐行设置的长合并区域
+         */
+        private static final class LongMerge {
+
+            final ExcelUtilsMerge merge;
+
+            final CellRangeAddress region;
+
+            /**
+             * 下一个待设置边框的行
+             */
+            int nextRow;
+
+            LongMerge(ExcelUtilsMerge merge) {
+                this.merge = merge;
+                this.region = new CellRangeAddress(merge.getFirstRow(), merge.getLastRow(), merge.getFirstColumn(), merge.getLastColumn());
+                this.nextRow = merge.getFirstRow();
+            }
+        }
+
+        /**
+         * 迭代器剩余的数据
+         *
+         * @param iterator
+         * @return
+         */
+        private static <E> Iterable<E> remaining(Iterator<E> iterator) {
+            return () -> iterator;
+        }
+
+        /**
+         * 写出一批已取值的数据行
+         *
+         * @param buffer
+         * @param locations 以属性下标为下标的列下标
+         */
+        private void writeBuffer(ExcelRowBuffer buffer, int[] locations) {
+            ExcelWritePlan plan = buffer.getPlan();
+            for (int r = 0; r < buffer.size(); r++) {
+                if (!buffer.isConverted(r)) {
+                    this.writeRow(buffer.getBean(r), false);
+                } else {
+                    Row row = RowUtil.getOrCreateRow(this.sheet, this.currentRow.getAndIncrement());
+                    for (int i = 0; i < locations.length; i++) {
+                        if (locations[i] < 0) {
+                            continue;
+                        }
+                        Cell cell = CellUtil.getOrCreateCell(row, locations[i]);
+                        switch (plan.getKind(i)) {
+                            case INT:
+                            case LONG:
+                                this.setCellValue(cell, buffer.getLong(r, i));
+                                break;
+                            case DOUBLE:
+                                this.setCellValue(cell, buffer.getDouble(r, i));
+                                break;
+                            default:
+                                this.setCellValue(cell, buffer.getValue(r, i), false);
+                                break;
+                        }
+                    }
+                }
+                if (null != this.pendingMerges) {
+                    this.applyPendingMerges(this.currentRow.get() - 1);
+                }
+            }
+        }
+
+        private static ExcelRowBuffer awaitBuffer(Future<ExcelRowBuffer> future) {
+            try {
+                return future.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("导出Excel被中断", ex);
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new RuntimeException(cause.getMessage(), cause);
+            }
+        }
+
         public ExcelWriter write(Iterable<?> data, Comparator<String> comparator) {
             Assert.isFalse(this.isClosed, "ExcelWriter has been closed!", new Object[0]);
             boolean isFirstRow = true;
@@ -480,6 +987,7 @@ public class ExcelUtils extends ExcelUtil {
         public ExcelWriter writeHeadRow() {
             Assert.isFalse(this.isClosed, "ExcelWriter has been closed!", new Object[0]);
             this.headLocationCache = new ConcurrentHashMap();
+            this.rowPlanLocations = null;
             Row row = this.sheet.createRow(this.currentRow.getAndIncrement());
 
             int i = 0;
@@ -487,10 +995,10 @@ public class ExcelUtils extends ExcelUtil {
                 Map.Entry<?, ?> header = (Map.Entry) var5.next();
                 Cell cell = row.createCell(i);
                 if (null != header.getValue()) {
-                    CellUtil.setCellValue(cell, header.getValue(), this.styleSet, true);
+                    this.setCellValue(cell, header.getValue(), true);
                     this.headLocationCache.put(StrUtil.toString(header.getKey()), i);
                 } else if (!this.onlyAlias) {
-                    CellUtil.setCellValue(cell, header.getKey(), this.styleSet, true);
+                    this.setCellValue(cell, header.getKey(), true);
                     this.headLocationCache.put(StrUtil.toString(header.getKey()), i);
                 }
             }
@@ -510,6 +1018,13 @@ public class ExcelUtils extends ExcelUtil {
                         rowMap = (Map) rowBean;
                     }
                 } else {
+                    if (MapUtil.isNotEmpty(this.headerAlias)) {
+                        ExcelWritePlan plan = this.getRowPlan(rowBean.getClass());
+                        if (null != plan) {
+                            return this.writeRow(plan, rowBean, isWriteKeyAsHead);
+                        }
+                    }
+
                     if (!BeanUtil.isBean(rowBean.getClass())) {
                         return this.writeRow((Object) CollUtil.newArrayList(new Object[]{rowBean}), isWriteKeyAsHead);
                     }
@@ -542,7 +1057,7 @@ public class ExcelUtils extends ExcelUtil {
                         Map.Entry<?, ?> entry = (Map.Entry) var6.next();
                         Integer location = this.headLocationCache.get(StrUtil.toString(entry.getKey()));
                         if (null != location) {
-                            CellUtil.setCellValue(CellUtil.getOrCreateCell(row, location), entry.getValue(), this.styleSet, false);
+                            this.setCellValue(CellUtil.getOrCreateCell(row, location), entry.getValue(), false);
                         }
                     }
                 } else {
@@ -553,9 +1068,149 @@ public class ExcelUtils extends ExcelUtil {
             }
         }
 
+        /**
+         * 按写入计划写出Bean，不创建中间Map
+         *
+         * @param plan
+         * @param rowBean
+         * @param isWriteKeyAsHead
+         * @return
+         */
+        public ExcelWriter writeRow(ExcelWritePlan plan, Object rowBean, boolean isWriteKeyAsHead) {
+            Assert.isFalse(this.isClosed, "ExcelWriter has been closed!", new Object[0]);
+            if (plan.size() == 0) {
+                return this.passCurrentRow();
+            }
+            if (isWriteKeyAsHead) {
+                this.writeHeadRow();
+            }
+
+            if (MapUtil.isEmpty(this.headLocationCache)) {
+                return this.writeRow(BeanUtil.beanToMap(rowBean, new TreeMap(this.getCachedAliasComparator()), false, false), false);
+            }
+            int[] locations = this.rowPlanLocations;
+            if (null == locations || this.rowPlan != plan) {
+                this.rowPlan = plan;
+                locations = plan.bind(this.headLocationCache);
+                this.rowPlanLocations = locations;
+            }
+            Row row = RowUtil.getOrCreateRow(this.sheet, this.currentRow.getAndIncrement());
+            for (int i = 0; i < locations.length; i++) {
+                if (locations[i] < 0) {
+                    continue;
+                }
+                Cell cell = CellUtil.getOrCreateCell(row, locations[i]);
+                switch (plan.getKind(i)) {
+                    case INT:
+                        this.setCellValue(cell, plan.getInt(i, rowBean));
+                        break;
+                    case LONG:
+                        this.setCellValue(cell, plan.getLong(i, rowBean));
+                        break;
+                    case DOUBLE:
+                        this.setCellValue(cell, plan.getDouble(i, rowBean));
+                        break;
+                    default:
+                        this.setCellValue(cell, plan.getValue(i, rowBean), false);
+                        break;
+                }
+            }
+            return this;
+        }
+
         public ExcelWriter writeRow(Iterable<?> rowData) {
             Assert.isFalse(this.isClosed, "ExcelWriter has been closed!", new Object[0]);
-            RowUtil.writeRow(this.sheet.createRow(this.currentRow.getAndIncrement()), rowData, this.styleSet, false);
+            Row row = this.sheet.createRow(this.currentRow.getAndIncrement());
+            int i = 0;
+            for (Object value : rowData) {
+                this.setCellValue(row.createCell(i++), value, false);
+            }
+            return this;
+        }
+
+        /**
+         * 写入单元格值，开启列宽估算时同时记录宽度
+         *
+         * @param cell
+         * @param value
+         * @param isHeader
+         */
+        private void setCellValue(Cell cell, Object value, boolean isHeader) {
+            CellUtil.setCellValue(cell, value, this.styleSet, isHeader);
+            if (this.autoWidthSampleRate > 0 && (isHeader || cell.getRowIndex() % this.autoWidthSampleRate == 0)) {
+                this.getColumnWidth().update(cell.getColumnIndex(), value);
+            }
+        }
+
+        /**
+         * 写入整数，样式与CellUtil.setCellValue一致
+         *
+         * @param cell
+         * @param value
+         */
+        private void setCellValue(Cell cell, long value) {
+            this.setNumericStyle(cell, false);
+            cell.setCellValue((double) value);
+            if (this.autoWidthSampleRate > 0 && cell.getRowIndex() % this.autoWidthSampleRate == 0) {
+                this.getColumnWidth().update(cell.getColumnIndex(), value);
+            }
+        }
+
+        /**
+         * 写入小数，使用数字样式，与CellUtil.setCellValue写入Double一致
+         *
+         * @param cell
+         * @param value
+         */
+        private void setCellValue(Cell cell, double value) {
+            this.setNumericStyle(cell, true);
+            cell.setCellValue(value);
+            if (this.autoWidthSampleRate > 0 && cell.getRowIndex() % this.autoWidthSampleRate == 0) {
+                this.getColumnWidth().update(cell.getColumnIndex(), value);
+            }
+        }
+
+        private void setNumericStyle(Cell cell, boolean isDecimal) {
+            if (null == this.styleSet) {
+                return;
+            }
+            CellStyle style = this.styleSet.getCellStyle();
+            if (null == style) {
+                return;
+            }
+            if (isDecimal && null != this.styleSet.getCellStyleForNumber()) {
+                style = this.styleSet.getCellStyleForNumber();
+            }
+            cell.setCellStyle(style);
+        }
+
+        private ExcelColumnWidth getColumnWidth() {
+            ExcelColumnWidth columnWidth = this.columnWidths.get(this.sheet);
+            if (null == columnWidth) {
+                columnWidth = new ExcelColumnWidth();
+                this.columnWidths.put(this.sheet, columnWidth);
+            }
+            return columnWidth;
+        }
+
+        /**
+         * 开启列宽估算，写入时记录每列最大显示宽度，flush时设置列宽，不做字体渲染
+         *
+         * @param isAutoWidth
+         * @return
+         */
+        public ExcelWriter setAutoWidth(boolean isAutoWidth) {
+            return this.setAutoWidthSampleRate(isAutoWidth ? 1 : 0);
+        }
+
+        /**
+         * 按行抽样估算列宽，每sampleRate行记录一行，表头始终记录，0为关闭
+         *
+         * @param sampleRate
+         * @return
+         */
+        public ExcelWriter setAutoWidthSampleRate(int sampleRate) {
+            this.autoWidthSampleRate = Math.max(sampleRate, 0);
             return this;
         }
 
@@ -566,7 +1221,7 @@ public class ExcelUtils extends ExcelUtil {
 
         public ExcelWriter writeCellValue(int x, int y, Object value) {
             Cell cell = this.getOrCreateCell(x, y);
-            CellUtil.setCellValue(cell, value, this.styleSet, false);
+            this.setCellValue(cell, value, false);
             return this;
         }
 
@@ -594,6 +1249,42 @@ public class ExcelUtils extends ExcelUtil {
             return this;
         }
 
+        /**
+         * 按样式属性设置单元格样式，相同属性共享同一个CellStyle
+         *
+         * @param styleKey
+         * @param locationRef
+         * @return
+         */
+        public ExcelWriter setStyle(ExcelStyleKey styleKey, String locationRef) {
+            return this.setStyle(this.getStylePool().getStyle(styleKey), locationRef);
+        }
+
+        public ExcelWriter setStyle(ExcelStyleKey styleKey, int x, int y) {
+            return this.setStyle(this.getStylePool().getStyle(styleKey), x, y);
+        }
+
+        public ExcelWriter setRowStyle(int y, ExcelStyleKey styleKey) {
+            return this.setRowStyle(y, this.getStylePool().getStyle(styleKey));
+        }
+
+        /**
+         * 样式池，以默认单元格样式为基础样式
+         *
+         * @return
+         */
+        public ExcelStylePool getStylePool() {
+            if (null == this.stylePool) {
+                this.stylePool = new ExcelStylePool(this.workbook, this.getCellStyle());
+            }
+            return this.stylePool;
+        }
+
+        public ExcelWriter setStylePool(ExcelStylePool stylePool) {
+            this.stylePool = stylePool;
+            return this;
+        }
+
         public Font createFont() {
             return this.getWorkbook().createFont();
         }
@@ -615,6 +1306,9 @@ public class ExcelUtils extends ExcelUtil {
             Assert.isFalse(this.isClosed, "ExcelWriter has been closed!", new Object[0]);
 
             try {
+                for (Map.Entry<Sheet, ExcelColumnWidth> entry : this.columnWidths.entrySet()) {
+                    entry.getValue().apply(entry.getKey());
+                }
                 this.workbook.write(out);
                 out.flush();
             } catch (IOException var7) {
@@ -642,6 +1336,22 @@ public class ExcelUtils extends ExcelUtil {
             super.close();
             this.currentRow = null;
             this.styleSet = null;
+            this.stylePool = null;
+            this.columnWidths = null;
+        }
+
+        private ExcelWritePlan getRowPlan(Class<?> cls) {
+            ExcelWritePlan plan = this.rowPlan;
+            if (null != plan && plan.getCls() == cls) {
+                return plan;
+            }
+            if (!BeanUtil.isBean(cls)) {
+                return null;
+            }
+            plan = ExcelWritePlan.of(cls);
+            this.rowPlan = plan;
+            this.rowPlanLocations = null;
+            return plan;
         }
 
         private Comparator<String> getCachedAliasComparator() {
@@ -695,9 +1405,34 @@ public class ExcelUtils extends ExcelUtil {
         if (ObjectUtil.isEmpty(excels)) {
             throw new RuntimeException("导出Excel错误，请检查传入Excel信息是否正确");
         }
+        exportExcel(response, getExcelName(excels), excels);
+    }
+
+    /**
+     * 第一个设置了Class的Excel的Class
+     *
+     * @param excels
+     * @return
+     */
+    static Class<?> getExcelClass(Excel... excels) {
+        for (Excel<?> excel : excels) {
+            if (null != excel && null != excel.getCls()) {
+                return excel.getCls();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取第一个Excel的@ExcelName
+     *
+     * @param excels
+     * @return
+     */
+    static String getExcelName(Excel... excels) {
         String excelName = "";
         for (Excel excel : excels) {
-            Class<T> cls = excel.getCls();
+            Class<?> cls = excel.getCls();
             if (ObjectUtil.isNotEmpty(cls)) {
                 ExcelName name = cls.getAnnotation(ExcelName.class);
                 if (ObjectUtil.isNotEmpty(name)) {
@@ -706,7 +1441,7 @@ public class ExcelUtils extends ExcelUtil {
                 break;
             }
         }
-        exportExcel(response, excelName, excels);
+        return excelName;
     }
 
     /**
@@ -716,33 +1451,259 @@ public class ExcelUtils extends ExcelUtil {
      * @param excels
      */
     public static void exportExcel(HttpServletResponse response, String excelName, Excel... excels) {
+        exportExcel(response, ExcelEngine.SXSSF, excelName, excels);
+    }
+
+    /**
+     * 按指定引擎导出
+     *
+     * @param response
+     * @param engine
+     * @param excelName
+     * @param excels
+     */
+    public static void exportExcel(HttpServletResponse response, ExcelEngine engine, String excelName, Excel... excels) {
         ServletOutputStream outputStream = null;
-        ExcelWriter writer = null;
-        SXSSFWorkbook workbook = null;
         try {
-            workbook = new SXSSFWorkbook();
-            // 临时文件将被gzip压缩
-            workbook.setCompressTempFiles(true);
-            writer = convertWriter(workbook, excelName, excels);
             response.setHeader("Content-disposition", "attachment; filename=" + URLEncoder.encode(excelName + "_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss")), StringPool.UTF_8) + ".xlsx");
             outputStream = response.getOutputStream();
-            writer.flush(outputStream, true);
+            writeExcel(outputStream, engine, excelName, excels);
         } catch (Exception ex) {
-            ex.printStackTrace();
+            log.error("导出Excel失败：{}", excelName, ex);
         } finally {
-            if (writer != null) {
-                writer.close();
+            if (outputStream != null) {
+                IoUtil.close(outputStream);
             }
+        }
+    }
+
+    /**
+     * 按指定临时文件存储策略导出
+     *
+     * @param response
+     * @param storage
+     * @param excelName
+     * @param excels
+     */
+    public static void exportExcel(HttpServletResponse response, ExcelTempStorage storage, String excelName, Excel... excels) {
+        ServletOutputStream outputStream = null;
+        try {
+            response.setHeader("Content-disposition", "attachment; filename=" + URLEncoder.encode(excelName + "_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss")), StringPool.UTF_8) + ".xlsx");
+            outputStream = response.getOutputStream();
+            writeExcel(outputStream, storage, excelName, excels);
+        } catch (Exception ex) {
+            log.error("导出Excel失败：{}", excelName, ex);
+        } finally {
             if (outputStream != null) {
                 IoUtil.close(outputStream);
             }
+        }
+    }
+
+    /**
+     * 导出到输出流，不关闭输出流，失败时抛出异常
+     *
+     * @param outputStream
+     * @param excelName
+     * @param excels
+     */
+    public static void writeExcel(OutputStream outputStream, String excelName, Excel... excels) {
+        writeExcel(outputStream, ExcelEngine.SXSSF, excelName, excels);
+    }
+
+    /**
+     * 按指定引擎导出到输出流，不关闭输出流，失败时抛出异常
+     *
+     * @param outputStream
+     * @param engine
+     * @param excelName
+     * @param excels
+     */
+    public static void writeExcel(OutputStream outputStream, ExcelEngine engine, String excelName, Excel... excels) {
+        if (ObjectUtil.isEmpty(excels)) {
+            throw new RuntimeException("导出Excel错误，请检查传入Excel信息是否正确");
+        }
+        if (ExcelEngine.XML == engine || ExcelEngine.XML_SHARED_STRINGS == engine) {
+            ExcelAdmissionController.Permit permit = ExcelAdmissionController.getDefault().acquire(ExcelAdmissionController.estimateExport(engine, excels));
+            CountingOutputStream countingStream = new CountingOutputStream(outputStream);
+            try {
+                ExcelXmlWriter writer = new ExcelXmlWriter(countingStream, ExcelEngine.XML_SHARED_STRINGS == engine ? new ExcelSharedStrings() : null);
+                for (Excel excel : excels) {
+                    Timer.Sample sample = ExcelMetrics.start();
+                    long startRows = writer.getRowCount();
+                    writer.write(getSheetName(excel.getCls(), excelName), excel);
+                    long rows = writer.getRowCount() - startRows;
+                    ExcelMetrics.recordSheet(excel.getCls(), engine.name(), sample, rows, rows * ExcelWritePlan.of(excel.getCls()).getColumnCount());
+                }
+                Timer.Sample sample = ExcelMetrics.start();
+                writer.finish();
+                countingStream.flush();
+                ExcelMetrics.recordFlush(getExcelClass(excels), engine.name(), sample);
+                ExcelMetrics.recordOutput(getExcelClass(excels), engine.name(), countingStream.getCount(), -1);
+            } catch (IOException ex) {
+                ExcelMetrics.exportFailed(getExcelClass(excels), engine.name(), ex);
+                throw new IORuntimeException(ex);
+            } catch (RuntimeException ex) {
+                ExcelMetrics.exportFailed(getExcelClass(excels), engine.name(), ex);
+                throw ex;
+            } finally {
+                closeStreams(excels);
+                permit.close();
+            }
+            return;
+        }
+        writeExcel(outputStream, ExcelTempStorage.GZIP, excelName, excels);
+    }
+
+    /**
+     * 按指定临时文件存储策略导出到输出流，不关闭输出流，失败时抛出异常
+     *
+     * @param outputStream
+     * @param storage
+     * @param excelName
+     * @param excels
+     */
+    public static void writeExcel(OutputStream outputStream, ExcelTempStorage storage, String excelName, Excel... excels) {
+        if (ObjectUtil.isEmpty(excels)) {
+            throw new RuntimeException("导出Excel错误，请检查传入Excel信息是否正确");
+        }
+        ExcelAdmissionController.Permit permit = ExcelAdmissionController.getDefault().acquire(ExcelAdmissionController.estimateExport(ExcelEngine.SXSSF, excels));
+        ExcelWriter writer = null;
+        ExcelSXSSFWorkbook workbook = null;
+        try {
+            workbook = new ExcelSXSSFWorkbook(storage);
+            writer = convertWriter(workbook, excelName, excels);
+            CountingOutputStream countingStream = new CountingOutputStream(outputStream);
+            Timer.Sample sample = ExcelMetrics.start();
+            writer.flush(countingStream, false);
+            ExcelMetrics.recordFlush(getExcelClass(excels), ExcelEngine.SXSSF.name(), sample);
+            ExcelMetrics.recordOutput(getExcelClass(excels), ExcelEngine.SXSSF.name(), countingStream.getCount(), workbook.getUsedBytes());
+        } catch (RuntimeException ex) {
+            ExcelMetrics.exportFailed(getExcelClass(excels), ExcelEngine.SXSSF.name(), ex);
+            throw ex;
+        } finally {
+            if (writer != null) {
+                writer.close();
+            }
             if (workbook != null) {
                 //删除磁盘上临时文件
                 workbook.dispose();
             }
+            closeStreams(excels);
+            permit.close();
+        }
+    }
+
+    /**
+     * 关闭数据源Stream
+     *
+     * @param excels
+     */
+    static void closeStreams(Excel... excels) {
+        if (null == excels) {
+            return;
+        }
+        for (Excel<?> excel : excels) {
+            if (null != excel) {
+                excel.closeStream();
+            }
+        }
+    }
+
+    /**
+     * 导出CSV，单个Sheet直接输出csv文件，多个Sheet按Sheet名称打包为zip
+     *
+     * @param response
+     * @param excels
+     */
+    public static void exportCsv(HttpServletResponse response, Excel... excels) {
+        if (ObjectUtil.isEmpty(excels)) {
+            throw new RuntimeException("导出CSV错误，请检查传入Excel信息是否正确");
+        }
+        exportCsv(response, getExcelName(excels), CharsetUtil.CHARSET_UTF_8, excels);
+    }
+
+    /**
+     * 导出CSV，单个Sheet直接输出csv文件，多个Sheet按Sheet名称打包为zip
+     *
+     * @param response
+     * @param excelName
+     * @param charset   UTF-8时写入BOM，便于Excel识别编码
+     * @param excels
+     */
+    public static void exportCsv(HttpServletResponse response, String excelName, Charset charset, Excel... excels) {
+        exportCsv(response, excelName, charset, ExcelCsvWriter.COMMA, excels);
+    }
+
+    /**
+     * 导出CSV，单个Sheet直接输出文件，多个Sheet按Sheet名称打包为zip
+     *
+     * @param response
+     * @param excelName
+     * @param charset   UTF-8时写入BOM，便于Excel识别编码
+     * @param separator {@link ExcelCsvWriter#TAB}时导出tsv文件
+     * @param excels
+     */
+    public static void exportCsv(HttpServletResponse response, String excelName, Charset charset, char separator, Excel... excels) {
+        if (ObjectUtil.isEmpty(excels)) {
+            throw new RuntimeException("导出CSV错误，请检查传入Excel信息是否正确");
+        }
+        ServletOutputStream outputStream = null;
+        try {
+            String fileName = URLEncoder.encode(excelName + "_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss")), StringPool.UTF_8);
+            outputStream = response.getOutputStream();
+            boolean tsv = separator == ExcelCsvWriter.TAB;
+            String suffix = tsv ? ".tsv" : ".csv";
+            if (excels.length == 1) {
+                response.setContentType((tsv ? "text/tab-separated-values" : "text/csv") + ";charset=" + charset.name());
+                response.setHeader("Content-disposition", "attachment; filename=" + fileName + suffix);
+                writeCsv(outputStream, charset, separator, excels[0]);
+            } else {
+                response.setContentType("application/zip");
+                response.setHeader("Content-disposition", "attachment; filename=" + fileName + ".zip");
+                ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream, charset);
+                Set<String> entryNames = new HashSet<>();
+                for (Excel excel : excels) {
+                    String entryName = getSheetName(excel.getCls(), excelName);
+                    for (int i = 1; !entryNames.add(entryName); i++) {
+                        entryName = getSheetName(excel.getCls(), excelName) + "_" + i;
+                    }
+                    zipOutputStream.putNextEntry(new ZipEntry(entryName + suffix));
+                    writeCsv(zipOutputStream, charset, separator, excel);
+                    zipOutputStream.closeEntry();
+                }
+                zipOutputStream.finish();
+            }
+            outputStream.flush();
+        } catch (Exception ex) {
+            ExcelMetrics.exportFailed(getExcelClass(excels), "CSV", ex);
+            log.error("导出CSV失败：{}", excelName, ex);
+        } finally {
+            closeStreams(excels);
+            if (outputStream != null) {
+                IoUtil.close(outputStream);
+            }
         }
     }
 
+    /**
+     * 写出CSV，不关闭输出流
+     *
+     * @param out
+     * @param charset
+     * @param separator
+     * @param excel
+     * @throws IOException
+     */
+    private static void writeCsv(OutputStream out, Charset charset, char separator, Excel excel) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, charset), 64 * 1024);
+        if (CharsetUtil.CHARSET_UTF_8.equals(charset)) {
+            writer.write('\uFEFF');
+        }
+        ExcelCsvWriter.write(writer, excel, separator);
+        writer.flush();
+    }
+
     /**
      * 转换Excel
      *
@@ -766,6 +1727,7 @@ public class ExcelUtils extends ExcelUtil {
      * @param excel
      */
     public static ExcelWriter initExcel(SXSSFWorkbook workbook, ExcelWriter writer, String excelName, Excel excel) {
+        Timer.Sample sample = ExcelMetrics.start();
         //创建Sheet
         Sheet sheet = createSheet(workbook, excel, excelName);
         if (ObjectUtil.isEmpty(writer)) {
@@ -778,20 +1740,33 @@ public class ExcelUtils extends ExcelUtil {
         //加载Sheet自定义标题别名
         initSheetTitle(writer, fields);
         //加载数据（校验空数据）
-        initNullColl(excel);
+        if (null == excel.getSource()) {
+            initNullColl(excel);
+        }
         //重置在第一行写入数据
         writer.reset();
         //加载合并单元格标题行
         initMergeTitle(writer, fields, excel.getCls());
+        //按内容估算列宽
+        writer.setAutoWidth(excel.isAutoWidth());
+        //加载合并单元格，随数据写入在窗口内合并
+        writer.setPendingMerges(excel.getMergeList());
         //写入数据
-        writer.write(excel.getColl(), true);
-        //加载合并单元格
-        List<ExcelUtilsMerge> mergeList = excel.getMergeList();
-        if (ObjectUtil.isNotEmpty(mergeList)) {
-            for (ExcelUtilsMerge merge : mergeList) {
-                writer.merge(merge.getFirstRow(), merge.getLastRow(), merge.getFirstColumn(), merge.getLastColumn(), merge.getContent(), merge.isSetHeaderStyle());
+        int startRow = writer.getCurrentRow();
+        if (null == excel.getSource()) {
+            writer.write(excel.getColl(), true, excel.getParallelism());
+        } else {
+            writer.write(excel.getSource(), true, excel.getParallelism());
+            //数据源为空时写入一条空数据，防止没有表头
+            if (writer.getCurrentRow() == startRow) {
+                writer.write(Lists.newArrayList(newInstance(excel.getCls())), true);
             }
         }
+        //合并数据行之后的单元格
+        writer.flushPendingMerges();
+        //表头行不计入数据行数
+        long rows = Math.max(0, writer.getCurrentRow() - startRow - 1);
+        ExcelMetrics.recordSheet(excel.getCls(), ExcelEngine.SXSSF.name(), sample, rows, rows * ExcelWritePlan.of(excel.getCls()).getColumnCount());
         return writer;
     }
 
@@ -858,14 +1833,30 @@ public class ExcelUtils extends ExcelUtil {
      */
     private static Sheet createSheet(SXSSFWorkbook workbook, Excel excel, String excelName) {
         SXSSFSheet sheet = workbook.createSheet(getSheetName(excel.getCls(), excelName));
-        if (ObjectUtil.isNotEmpty(excel.getMergeList())) {
-            sheet.setRandomAccessWindowSize(-1);
-        } else {
-            sheet.setRandomAccessWindowSize(500);
-        }
+        sheet.setRandomAccessWindowSize(getWindowSize(excel.getMergeList()));
         return sheet;
     }
 
+    /**
+     * 获取SXSSF窗口大小，窗口需容纳合并行跨度，最大为{@link ExcelWriter#MAX_MERGE_WINDOW_SIZE}，
+     * 行跨度更大的合并区域由ExcelWriter逐行处理
+     *
+     * @param mergeList
+     * @return
+     */
+    static int getWindowSize(List<ExcelUtilsMerge> mergeList) {
+        int windowSize = 500;
+        if (ObjectUtil.isNotEmpty(mergeList)) {
+            for (ExcelUtilsMerge merge : mergeList) {
+                int span = merge.getLastRow() - merge.getFirstRow() + 1;
+                if (span <= ExcelWriter.MAX_MERGE_WINDOW_SIZE) {
+                    windowSize = Math.max(windowSize, span);
+                }
+            }
+        }
+        return windowSize;
+    }
+
     /**
      * 加载一条空数据，防止没有数据下没有表头
      *
@@ -924,71 +1915,423 @@ public class ExcelUtils extends ExcelUtil {
      */
     public static <T> List<T> read(MultipartFile fileData, Class<T> cls, boolean isRemoveHead, int headRowIndex) {
         List<T> listData = new ArrayList<>();
+        ExcelAdmissionController.Permit permit = ExcelAdmissionController.getDefault().acquire(ExcelAdmissionController.estimateRead(fileData.getSize(), false));
+        File file = null;
+        ExcelReader excelReader = null;
         try {
-            InputStream inputStream = fileData.getInputStream();
-            ExcelReader excelReader = ExcelUtils.getReader(inputStream);
+            Timer.Sample sample = ExcelMetrics.start();
+            file = spool(fileData);
+            excelReader = openReader(file);
             List<List<Object>> rowList = excelReader.read();
             if (isRemoveHead && ObjectUtil.isNotEmpty(rowList)) {
                 rowList.remove(headRowIndex);
             }
+            ExcelMetrics.recordParse(cls, sample);
+            sample = ExcelMetrics.start();
+            ExcelBeanBinder<T> binder = ExcelBeanBinder.of(cls);
             ForEachUtils.forEach(
                     0, rowList,
                     (rowIndex, row) -> {
                         T obj = newInstance(cls);
-                        ForEachUtils.forEach(0, row, (colIndex, col) -> setProperty(rowIndex, colIndex, col, obj));
+                        ForEachUtils.forEach(0, row, (colIndex, col) -> binder.bind(rowIndex, colIndex, col, obj));
                         listData.add(obj);
                     }
             );
+            ExcelMetrics.recordBind(cls, sample, listData.size());
             if (ObjectUtil.isEmpty(listData)) {
                 throw new RuntimeException("暂未读取到Excel数据，请检查Excel是否为空");
             }
         } catch (Exception ex) {
-            throw new RuntimeException(ex.getMessage());
+            ExcelMetrics.importFailed(cls, ex);
+            throw new RuntimeException(ex.getMessage(), ex);
+        } finally {
+            IoUtil.close(excelReader);
+            FileUtil.del(file);
+            permit.close();
         }
         return listData;
     }
 
     /**
-     * 创建对象
+     * 并行读取Excel，解析后按行区间并行绑定对象，结果顺序与文件一致
      *
+     * @param fileData
      * @param cls
-     * @param <T>
-     * @return
+     * @return java.util.List<T>
      */
-    private static <T> T newInstance(Class<T> cls) {
+    public static <T> List<T> readParallel(MultipartFile fileData, Class<T> cls) {
+        return readParallel(fileData, cls, true, 0, 0);
+    }
+
+    /**
+     * 并行读取Excel，解析后按行区间并行绑定对象，结果顺序与文件一致，多行出错时报行号最小的错误
+     *
+     * @param fileData
+     * @param cls
+     * @param isRemoveHead
+     * @param headRowIndex
+     * @param parallelism  并行度，拆分的绑定任务数上限，均在公共ForkJoinPool中执行，小于等于0时不限制
+     * @return java.util.List<T>
+     */
+    public static <T> List<T> readParallel(MultipartFile fileData, Class<T> cls, boolean isRemoveHead, int headRowIndex, int parallelism) {
+        List<T> listData;
+        ExcelAdmissionController.Permit permit = ExcelAdmissionController.getDefault().acquire(ExcelAdmissionController.estimateRead(fileData.getSize(), false));
+        File file = null;
+        ExcelReader excelReader = null;
         try {
-            return cls.newInstance();
+            Timer.Sample sample = ExcelMetrics.start();
+            file = spool(fileData);
+            excelReader = openReader(file);
+            List<List<Object>> rowList = excelReader.read();
+            if (isRemoveHead && ObjectUtil.isNotEmpty(rowList)) {
+                rowList.remove(headRowIndex);
+            }
+            ExcelMetrics.recordParse(cls, sample);
+            sample = ExcelMetrics.start();
+            listData = ExcelParallelBinder.bind(ExcelBeanBinder.of(cls), rowList, parallelism);
+            ExcelMetrics.recordBind(cls, sample, listData.size());
+            if (ObjectUtil.isEmpty(listData)) {
+                throw new RuntimeException("暂未读取到Excel数据，请检查Excel是否为空");
+            }
         } catch (Exception ex) {
-            ex.printStackTrace();
+            ExcelMetrics.importFailed(cls, ex);
+            throw new RuntimeException(ex.getMessage(), ex);
+        } finally {
+            IoUtil.close(excelReader);
+            FileUtil.del(file);
+            permit.close();
         }
-        return null;
+        return listData;
     }
 
     /**
-     * 设置属性
+     * 流式读取Excel（xlsx、xls）
+     * <p>
+     * 合并单元格只有左上角单元格有值：xlsx的合并区域在单元格数据之后，解析到数据时无法得知，
+     * 不像{@link #read}那样按合并区域填充
      *
-     * @param colIndex
-     * @param value
-     * @param obj
+     * @param fileData
+     * @param cls
+     * @return java.util.List<T>
      */
-    private static void setProperty(int rowIndex, int colIndex, Object value, Object obj) {
-        Field[] fields = obj.getClass().getDeclaredFields();
-        for (Field field : fields) {
-            ExcelColumn column = field.getAnnotation(ExcelColumn.class);
-            if (ObjectUtil.isNotEmpty(column) && ObjectUtil.isNotEmpty(column.col()) && colIndex == column.col()) {
-                if (ObjectUtil.isNotEmpty(value)) {
-                    try {
-                        BeanUtil.setFieldValue(obj, field.getName(), value);
-                    } catch (Exception e) {
-                        throw new RuntimeException("第" + (rowIndex + 2) + "行：" + column.value() + "字段读取错误，请检查文件内容是否正确 " + value);
-                    }
-                } else if (column.required()) {
-                    throw new RuntimeException(column.value() + "必填");
+    public static <T> List<T> readStream(MultipartFile fileData, Class<T> cls) {
+        return readStream(fileData, cls, true, 0);
+    }
+
+    /**
+     * 流式读取Excel（xlsx、xls）
+     *
+     * @param fileData
+     * @param cls
+     * @param isRemoveHead
+     * @param headRowIndex
+     * @return java.util.List<T>
+     */
+    public static <T> List<T> readStream(MultipartFile fileData, Class<T> cls, boolean isRemoveHead, int headRowIndex) {
+        List<T> listData = new ArrayList<>();
+        readStream(fileData, cls, isRemoveHead, headRowIndex, listData::add);
+        if (ObjectUtil.isEmpty(listData)) {
+            throw new RuntimeException("暂未读取到Excel数据，请检查Excel是否为空");
+        }
+        return listData;
+    }
+
+    /**
+     * 流式读取Excel（xlsx、xls），边解析边绑定对象，每行绑定完成后交给consumer
+     *
+     * @param fileData
+     * @param cls
+     * @param isRemoveHead
+     * @param headRowIndex
+     * @param consumer
+     */
+    public static <T> void readStream(MultipartFile fileData, Class<T> cls, boolean isRemoveHead, int headRowIndex, Consumer<? super T> consumer) {
+        readSax(fileData, cls, new ExcelRowHandler<>(ExcelBeanBinder.of(cls), isRemoveHead, headRowIndex, consumer));
+    }
+
+    /**
+     * 按读取选项流式读取Excel（xlsx、xls），只读取指定范围的行与列
+     *
+     * @param fileData
+     * @param cls
+     * @param option
+     * @return java.util.List<T>
+     */
+    public static <T> List<T> readStream(MultipartFile fileData, Class<T> cls, ExcelReadOption option) {
+        List<T> listData = new ArrayList<>();
+        readStream(fileData, cls, option, listData::add);
+        //分页读取超出末尾时返回空数据
+        if (ObjectUtil.isEmpty(listData) && option.getStartRow() <= 0) {
+            throw new RuntimeException("暂未读取到Excel数据，请检查Excel是否为空");
+        }
+        return listData;
+    }
+
+    /**
+     * 按读取选项流式读取Excel（xlsx、xls），每行绑定完成后交给consumer，读满limit行后停止解析
+     *
+     * @param fileData
+     * @param cls
+     * @param option
+     * @param consumer
+     */
+    public static <T> void readStream(MultipartFile fileData, Class<T> cls, ExcelReadOption option, Consumer<? super T> consumer) {
+        readSax(fileData, cls, new ExcelRowHandler<>(ExcelBeanBinder.of(cls), option, consumer, null));
+    }
+
+    /**
+     * 校验读取Excel（xlsx、xls），记录全部行的错误后继续读取，返回校验通过的数据与错误汇总
+     *
+     * @param fileData
+     * @param cls
+     * @return
+     */
+    public static <T> ExcelReadResult<T> readValidated(MultipartFile fileData, Class<T> cls) {
+        return readValidated(fileData, cls, true, 0, ExcelReadErrors.DEFAULT_MAX_ERRORS);
+    }
+
+    /**
+     * 校验读取Excel（xlsx、xls），记录全部行的错误后继续读取，返回校验通过的数据与错误汇总
+     *
+     * @param fileData
+     * @param cls
+     * @param isRemoveHead
+     * @param headRowIndex
+     * @param maxErrors    记录的错误数上限，超出部分只计数
+     * @return
+     */
+    public static <T> ExcelReadResult<T> readValidated(MultipartFile fileData, Class<T> cls, boolean isRemoveHead, int headRowIndex, int maxErrors) {
+        ExcelReadOption option = new ExcelReadOption();
+        option.setRemoveHead(isRemoveHead);
+        option.setHeadRowIndex(headRowIndex);
+        return readValidated(fileData, cls, option, maxErrors);
+    }
+
+    /**
+     * 按读取选项校验读取Excel（xlsx、xls），只读取并校验指定范围的行与列
+     *
+     * @param fileData
+     * @param cls
+     * @param option
+     * @param maxErrors 记录的错误数上限，超出部分只计数
+     * @return
+     */
+    public static <T> ExcelReadResult<T> readValidated(MultipartFile fileData, Class<T> cls, ExcelReadOption option, int maxErrors) {
+        List<T> listData = new ArrayList<>();
+        ExcelReadErrors errors = new ExcelReadErrors(maxErrors);
+        ExcelRowHandler<T> handler = new ExcelRowHandler<>(ExcelBeanBinder.of(cls), option, listData::add, errors);
+        readSax(fileData, cls, handler);
+        //分页读取超出末尾时返回空数据
+        if (handler.getRowCount() == 0 && option.getStartRow() <= 0) {
+            throw new RuntimeException("暂未读取到Excel数据，请检查Excel是否为空");
+        }
+        return new ExcelReadResult<>(listData, errors);
+    }
+
+    /**
+     * 流式解析第一个Sheet，xlsx按SAX解析，xls按HSSF事件模型解析
+     *
+     * @param fileData
+     * @param cls
+     * @param handler
+     */
+    private static void readSax(MultipartFile fileData, Class<?> cls, ExcelRowHandler<?> handler) {
+        ExcelAdmissionController.Permit permit = ExcelAdmissionController.getDefault().acquire(ExcelAdmissionController.estimateRead(fileData.getSize(), true));
+        File file = null;
+        OPCPackage pkg = null;
+        try {
+            Timer.Sample sample = ExcelMetrics.start();
+            file = spool(fileData);
+            if (FileMagic.valueOf(file) == FileMagic.OLE2) {
+                try (POIFSFileSystem fs = new POIFSFileSystem(file, true)) {
+                    ExcelMetrics.recordParse(cls, sample);
+                    sample = ExcelMetrics.start();
+                    ExcelHssfReader.read(fs, handler);
                 }
+            } else {
+                pkg = OPCPackage.open(file, PackageAccess.READ);
+                ExcelMetrics.recordParse(cls, sample);
+                //边解析边绑定，耗时包含Sheet解析
+                sample = ExcelMetrics.start();
+                ExcelSaxReader.read(pkg, handler);
+            }
+            ExcelMetrics.recordBind(cls, sample, handler.getRowCount());
+        } catch (Exception ex) {
+            ExcelMetrics.importFailed(cls, ex);
+            throw new RuntimeException(ex.getMessage(), ex);
+        } finally {
+            if (pkg != null) {
+                //只读，不回写
+                pkg.revert();
             }
+            FileUtil.del(file);
+            permit.close();
+        }
+    }
+
+    /**
+     * 将上传文件写入临时文件，之后按文件随机读取zip条目，不在内存中缓存整个文件
+     *
+     * @param fileData
+     * @return
+     * @throws IOException
+     */
+    private static File spool(MultipartFile fileData) throws IOException {
+        File file = File.createTempFile("excel-upload-", ".tmp");
+        try (InputStream inputStream = fileData.getInputStream()) {
+            Files.copy(inputStream, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            FileUtil.del(file);
+            throw ex;
+        }
+        return file;
+    }
+
+    /**
+     * 打开Excel文件，xlsx以只读方式打开文件，xls按hutool默认方式打开
+     *
+     * @param file
+     * @return
+     * @throws IOException
+     * @throws InvalidFormatException
+     */
+    private static ExcelReader openReader(File file) throws IOException, InvalidFormatException {
+        if (FileMagic.valueOf(file) != FileMagic.OOXML) {
+            return ExcelUtil.getReader(file);
+        }
+        OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ);
+        try {
+            return new ExcelReader(new XSSFWorkbook(pkg), 0);
+        } catch (IOException | RuntimeException ex) {
+            pkg.revert();
+            throw ex;
         }
     }
 
+    /**
+     * 分批读取Excel（xlsx），每解析batchSize行调用一次consumer，适用于边读取边批量入库
+     *
+     * @param fileData
+     * @param cls
+     * @param batchSize
+     * @param consumer
+     * @return 读取的总行数
+     */
+    public static <T> int readBatch(MultipartFile fileData, Class<T> cls, int batchSize, Consumer<List<T>> consumer) {
+        return readBatch(fileData, cls, true, 0, batchSize, consumer);
+    }
+
+    /**
+     * 分批读取Excel（xlsx），每解析batchSize行调用一次consumer，适用于边读取边批量入库
+     * <p>
+     * 传给consumer的List不会被复用，内存占用只与batchSize有关
+     *
+     * @param fileData
+     * @param cls
+     * @param isRemoveHead
+     * @param headRowIndex
+     * @param batchSize
+     * @param consumer
+     * @return 读取的总行数
+     */
+    public static <T> int readBatch(MultipartFile fileData, Class<T> cls, boolean isRemoveHead, int headRowIndex, int batchSize, Consumer<List<T>> consumer) {
+        Assert.isTrue(batchSize > 0, "batchSize must be greater than 0");
+        BatchConsumer<T> batchConsumer = new BatchConsumer<>(batchSize, consumer);
+        readStream(fileData, cls, isRemoveHead, headRowIndex, batchConsumer);
+        batchConsumer.flush();
+        if (batchConsumer.count == 0) {
+            throw new RuntimeException("暂未读取到Excel数据，请检查Excel是否为空");
+        }
+        return batchConsumer.count;
+    }
+
+    /**
+     * 按批次收集对象
+     */
+    private static class BatchConsumer<T> implements Consumer<T> {
+
+        private final int batchSize;
+
+        private final Consumer<List<T>> consumer;
+
+        private List<T> batch;
+
+        private int count;
+
+        BatchConsumer(int batchSize, Consumer<List<T>> consumer) {
+            this.batchSize = batchSize;
+            this.consumer = consumer;
+            this.batch = new ArrayList<>(batchSize);
+        }
+
+        @Override
+        public void accept(T obj) {
+            this.batch.add(obj);
+            this.count++;
+            if (this.batch.size() >= this.batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (this.batch.isEmpty()) {
+                return;
+            }
+            List<T> full = this.batch;
+            this.batch = new ArrayList<>(this.batchSize);
+            this.consumer.accept(full);
+        }
+    }
+
+    /**
+     * 统计写出字节数，不关闭下层输出流
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            this.out.write(b);
+            this.count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            this.out.write(b, off, len);
+            this.count += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.flush();
+        }
+
+        long getCount() {
+            return this.count;
+        }
+    }
+
+    /**
+     * 创建对象
+     *
+     * @param cls
+     * @param <T>
+     * @return
+     */
+    private static <T> T newInstance(Class<T> cls) {
+        try {
+            return cls.newInstance();
+        } catch (Exception ex) {
+            ex.printStackTrace();
+        }
+        return null;
+    }
+
     /**
      * ExcelWriter关闭
      *
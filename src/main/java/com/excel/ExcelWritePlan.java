@@ -0,0 +1,366 @@
+package com.excel;
+
+import cn.hutool.core.util.StrUtil;
+import com.excel.ExcelUtils.ExcelColumn;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Excel导出行写入计划
+ * <p>
+ * 每个Class只解析一次属性访问器，写入时按表头位置直接取值写入单元格，
+ * 代替每行BeanUtil.beanToMap + TreeMap的中间Map。int、long、double等基本类型属性按类型取值，不装箱
+ *
+ * @author: MingWei Yang
+ */
+public class ExcelWritePlan {
+
+    /**
+     * 写入计划缓存，应用生命周期内有效
+     */
+    private static final Map<Class<?>, ExcelWritePlan> CACHE = new ConcurrentHashMap<>();
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType INT_GETTER_TYPE = MethodType.methodType(int.class, Object.class);
+
+    private static final MethodType LONG_GETTER_TYPE = MethodType.methodType(long.class, Object.class);
+
+    private static final MethodType DOUBLE_GETTER_TYPE = MethodType.methodType(double.class, Object.class);
+
+    /**
+     * 属性值类型
+     */
+    public enum ValueKind {
+        /**
+         * 引用类型及其他基本类型，按Object读取
+         */
+        OBJECT,
+        /**
+         * int、short、byte
+         */
+        INT,
+        /**
+         * long
+         */
+        LONG,
+        /**
+         * double、float
+         */
+        DOUBLE
+    }
+
+    private final Class<?> cls;
+
+    /**
+     * 属性名，与BeanUtil.beanToMap的key一致
+     */
+    private final String[] names;
+
+    private final MethodHandle[] getters;
+
+    private final ValueKind[] kinds;
+
+    /**
+     * 基本类型属性的取值方法，返回类型与kinds一致，OBJECT为null
+     */
+    private final MethodHandle[] primitiveGetters;
+
+    /**
+     * 表头，@ExcelColumn字段按声明顺序排列，未设置名称的列为null
+     */
+    private final String[] titles;
+
+    /**
+     * 以列下标为下标的属性下标，不写出的列为-1
+     */
+    private final int[] columnProperties;
+
+    /**
+     * 列宽，与ExcelUtils设置列宽的下标规则一致
+     */
+    private final Map<Integer, Integer> widths = new LinkedHashMap<>();
+
+    private ExcelWritePlan(Class<?> cls) {
+        this.cls = cls;
+        Map<String, MethodHandle> properties = compile(cls);
+        this.names = properties.keySet().toArray(new String[0]);
+        this.getters = new MethodHandle[this.names.length];
+        this.kinds = new ValueKind[this.names.length];
+        this.primitiveGetters = new MethodHandle[this.names.length];
+        int index = 0;
+        for (MethodHandle getter : properties.values()) {
+            Class<?> type = getter.type().returnType();
+            this.getters[index] = getter.asType(GETTER_TYPE);
+            if (type == int.class || type == short.class || type == byte.class) {
+                this.kinds[index] = ValueKind.INT;
+                this.primitiveGetters[index] = getter.asType(INT_GETTER_TYPE);
+            } else if (type == long.class) {
+                this.kinds[index] = ValueKind.LONG;
+                this.primitiveGetters[index] = getter.asType(LONG_GETTER_TYPE);
+            } else if (type == double.class || type == float.class) {
+                this.kinds[index] = ValueKind.DOUBLE;
+                this.primitiveGetters[index] = getter.asType(DOUBLE_GETTER_TYPE);
+            } else {
+                this.kinds[index] = ValueKind.OBJECT;
+            }
+            index++;
+        }
+
+        List<String> titles = new ArrayList<>();
+        List<Integer> columnProperties = new ArrayList<>();
+        Field[] fields = cls.getDeclaredFields();
+        for (int i = 0; i < fields.length; i++) {
+            ExcelColumn column = fields[i].getAnnotation(ExcelColumn.class);
+            if (null == column) {
+                continue;
+            }
+            String title = StrUtil.emptyToNull(column.value());
+            titles.add(title);
+            columnProperties.add(null == title ? -1 : this.indexOf(fields[i].getName()));
+            this.widths.put(i, column.width());
+        }
+        this.titles = titles.toArray(new String[0]);
+        this.columnProperties = columnProperties.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * 获取Class对应的写入计划
+     *
+     * @param cls
+     * @return
+     */
+    public static ExcelWritePlan of(Class<?> cls) {
+        return CACHE.computeIfAbsent(cls, ExcelWritePlan::new);
+    }
+
+    public Class<?> getCls() {
+        return this.cls;
+    }
+
+    /**
+     * 属性数量
+     *
+     * @return
+     */
+    public int size() {
+        return this.names.length;
+    }
+
+    public String getName(int index) {
+        return this.names[index];
+    }
+
+    /**
+     * 读取属性值
+     *
+     * @param index
+     * @param bean
+     * @return
+     */
+    public Object getValue(int index, Object bean) {
+        try {
+            return (Object) this.getters[index].invokeExact(bean);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("读取属性失败：" + this.names[index], e);
+        }
+    }
+
+    /**
+     * 属性值类型
+     *
+     * @param index
+     * @return
+     */
+    public ValueKind getKind(int index) {
+        return this.kinds[index];
+    }
+
+    /**
+     * 读取int属性值，仅用于{@link ValueKind#INT}
+     *
+     * @param index
+     * @param bean
+     * @return
+     */
+    public int getInt(int index, Object bean) {
+        try {
+            return (int) this.primitiveGetters[index].invokeExact(bean);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("读取属性失败：" + this.names[index], e);
+        }
+    }
+
+    /**
+     * 读取long属性值，仅用于{@link ValueKind#LONG}
+     *
+     * @param index
+     * @param bean
+     * @return
+     */
+    public long getLong(int index, Object bean) {
+        try {
+            return (long) this.primitiveGetters[index].invokeExact(bean);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("读取属性失败：" + this.names[index], e);
+        }
+    }
+
+    /**
+     * 读取double属性值，仅用于{@link ValueKind#DOUBLE}
+     *
+     * @param index
+     * @param bean
+     * @return
+     */
+    public double getDouble(int index, Object bean) {
+        try {
+            return (double) this.primitiveGetters[index].invokeExact(bean);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("读取属性失败：" + this.names[index], e);
+        }
+    }
+
+    /**
+     * 属性下标
+     *
+     * @param name
+     * @return 不存在时为-1
+     */
+    public int indexOf(String name) {
+        for (int i = 0; i < this.names.length; i++) {
+            if (this.names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 表头列数
+     *
+     * @return
+     */
+    public int getColumnCount() {
+        return this.titles.length;
+    }
+
+    /**
+     * 表头名称
+     *
+     * @param column
+     * @return 未设置名称时为null
+     */
+    public String getTitle(int column) {
+        return this.titles[column];
+    }
+
+    /**
+     * 列对应的属性下标
+     *
+     * @param column
+     * @return 不写出的列为-1
+     */
+    public int getColumnProperty(int column) {
+        return this.columnProperties[column];
+    }
+
+    /**
+     * 列宽（字符数）
+     *
+     * @return 列下标与列宽
+     */
+    public Map<Integer, Integer> getWidths() {
+        return Collections.unmodifiableMap(this.widths);
+    }
+
+    /**
+     * 按表头位置绑定属性
+     *
+     * @param headLocationCache 属性名与列下标
+     * @return 以属性下标为下标的列下标，未写出的属性为-1
+     */
+    public int[] bind(Map<String, Integer> headLocationCache) {
+        int[] locations = new int[this.names.length];
+        for (int i = 0; i < this.names.length; i++) {
+            Integer location = headLocationCache.get(this.names[i]);
+            locations[i] = null == location ? -1 : location;
+        }
+        return locations;
+    }
+
+    /**
+     * 解析属性访问器，优先使用getter，没有getter时直接读取字段，保留属性的返回类型
+     *
+     * @param cls
+     * @return
+     */
+    private static Map<String, MethodHandle> compile(Class<?> cls) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> type = cls; null != type && type != Object.class; type = type.getSuperclass()) {
+            hierarchy.add(0, type);
+        }
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        Map<String, MethodHandle> properties = new LinkedHashMap<>();
+        for (Class<?> type : hierarchy) {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                    continue;
+                }
+                properties.put(field.getName(), unreflectGetter(lookup, cls, field));
+            }
+        }
+        return properties;
+    }
+
+    private static MethodHandle unreflectGetter(MethodHandles.Lookup lookup, Class<?> cls, Field field) {
+        try {
+            Method getter = findGetter(cls, field);
+            if (null != getter) {
+                //非public类的public getter也需要
+                getter.setAccessible(true);
+                return lookup.unreflect(getter).asType(MethodType.methodType(getter.getReturnType(), Object.class));
+            }
+            field.setAccessible(true);
+            return lookup.unreflectGetter(field).asType(MethodType.methodType(field.getType(), Object.class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("无法访问字段：" + field, e);
+        }
+    }
+
+    private static Method findGetter(Class<?> cls, Field field) {
+        String name = StrUtil.upperFirst(field.getName());
+        try {
+            return cls.getMethod("get" + name);
+        } catch (NoSuchMethodException e) {
+            //boolean属性的is前缀getter
+        }
+        if (field.getType() == boolean.class) {
+            try {
+                return cls.getMethod(field.getName().startsWith("is") ? field.getName() : "is" + name);
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
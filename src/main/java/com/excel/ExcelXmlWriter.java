@@ -0,0 +1,699 @@
+package com.excel;
+
+import cn.hutool.core.util.StrUtil;
+import com.excel.ExcelUtils.Excel;
+import com.excel.ExcelUtils.MergeTitle;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.ss.util.WorkbookUtil;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * xlsx直写引擎
+ * <p>
+ * 不经过POI的Workbook/Row/Cell对象，按行将SpreadsheetML直接写入输出流上的ZipOutputStream，
+ * 不产生临时文件。表头、列宽、@MergeTitle、合并单元格与默认样式与SXSSF导出一致，
+ * 合并区域只在首个单元格写入内容和样式。可选使用{@link ExcelSharedStrings}将重复字符串写入共享字符串表。
+ * 不支持按内容估算列宽和并行取值，Excel的autoWidth、parallelism不生效。
+ * 非线程安全，一个实例对应一个工作簿
+ *
+ * @author: MingWei Yang
+ */
+public class ExcelXmlWriter {
+
+    private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+
+    private static final String NS_MAIN = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+
+    private static final String NS_RELATIONSHIPS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private static final String NS_PACKAGE_RELATIONSHIPS = "http://schemas.openxmlformats.org/package/2006/relationships";
+
+    /**
+     * 样式下标，与styles.xml中cellXfs的顺序一致
+     */
+    private static final int STYLE_CELL = 1;
+
+    private static final int STYLE_HEAD = 2;
+
+    private static final int STYLE_NUMBER = 3;
+
+    private static final int STYLE_DATE = 4;
+
+    private final ZipOutputStream zip;
+
+    private final Writer out;
+
+    private final List<String> sheetNames = new ArrayList<>();
+
+    private final Set<String> sheetNameSet = new HashSet<>();
+
+    /**
+     * 列名缓存（A、B、...）
+     */
+    private String[] columnNames = new String[0];
+
+    /**
+     * 数字转字符的缓冲区
+     */
+    private final char[] digits = new char[20];
+
+    /**
+     * 当前Sheet按行列排序的合并单元格内容
+     */
+    private List<Overlay> overlays = Collections.emptyList();
+
+    private int overlayIndex;
+
+    private long rowCount;
+
+    /**
+     * 共享字符串表，为null时全部写为内联字符串
+     */
+    private final ExcelSharedStrings sharedStrings;
+
+    public ExcelXmlWriter(OutputStream outputStream) {
+        this(outputStream, null);
+    }
+
+    /**
+     * @param outputStream
+     * @param sharedStrings 共享字符串表，为null时全部写为内联字符串
+     */
+    public ExcelXmlWriter(OutputStream outputStream, ExcelSharedStrings sharedStrings) {
+        this.zip = new ZipOutputStream(outputStream, StandardCharsets.UTF_8);
+        this.out = new BufferedWriter(new OutputStreamWriter(this.zip, StandardCharsets.UTF_8), 64 * 1024);
+        this.sharedStrings = sharedStrings;
+    }
+
+    /**
+     * 写出一个Sheet
+     *
+     * @param sheetName
+     * @param excel
+     * @return
+     * @throws IOException
+     */
+    public ExcelXmlWriter write(String sheetName, Excel<?> excel) throws IOException {
+        Class<?> cls = excel.getCls();
+        ExcelWritePlan plan = ExcelWritePlan.of(cls);
+        Field[] fields = cls.getDeclaredFields();
+
+        List<CellRangeAddress> regions = new ArrayList<>();
+        List<Overlay> overlays = new ArrayList<>();
+        boolean hasMergeTitle = null != cls.getAnnotation(MergeTitle.class);
+        if (hasMergeTitle) {
+            for (int i = 0; i < fields.length; i++) {
+                MergeTitle mergeTitle = fields[i].getAnnotation(MergeTitle.class);
+                if (null == mergeTitle) {
+                    continue;
+                }
+                if (mergeTitle.col() > 1) {
+                    regions.add(new CellRangeAddress(0, 0, i, i + mergeTitle.col() - 1));
+                    overlays.add(new Overlay(0, i, mergeTitle.value(), true));
+                } else {
+                    overlays.add(new Overlay(0, i + mergeTitle.col() - 1, mergeTitle.value(), true));
+                }
+            }
+        }
+        List<ExcelUtilsMerge> mergeList = excel.getMergeList();
+        if (null != mergeList) {
+            for (ExcelUtilsMerge merge : mergeList) {
+                regions.add(new CellRangeAddress(merge.getFirstRow(), merge.getLastRow(), merge.getFirstColumn(), merge.getLastColumn()));
+                if (null != merge.getContent()) {
+                    overlays.add(new Overlay(merge.getFirstRow(), merge.getFirstColumn(), merge.getContent(), merge.isSetHeaderStyle()));
+                }
+            }
+        }
+        ExcelMergeIndex.checkOverlap(Collections.emptyList(), regions);
+        //稳定排序，同一单元格以后设置的内容为准
+        overlays.sort(Comparator.comparingInt((Overlay overlay) -> overlay.row).thenComparingInt(overlay -> overlay.col));
+        this.overlays = overlays;
+        this.overlayIndex = 0;
+        if (null != this.sharedStrings) {
+            this.sharedStrings.startSheet();
+        }
+
+        int sheetIndex = this.addSheetName(sheetName);
+        this.zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheetIndex + ".xml"));
+        this.out.write(XML_HEADER);
+        this.out.write("<worksheet xmlns=\"" + NS_MAIN + "\" xmlns:r=\"" + NS_RELATIONSHIPS + "\">");
+        this.writeCols(plan.getWidths());
+        this.out.write("<sheetData>");
+
+        int rowIndex = hasMergeTitle ? 1 : 0;
+        this.writeRow(rowIndex++, plan, null, true);
+        long dataRows = 0;
+        for (Object bean : excel.rows()) {
+            this.writeRow(rowIndex++, plan, bean, false);
+            dataRows++;
+        }
+        if (dataRows == 0) {
+            //写入一条空数据，与SXSSF导出一致
+            this.writeRow(rowIndex, plan, newInstance(cls), false);
+        }
+        this.writeRemainingOverlays();
+
+        this.out.write("</sheetData>");
+        if (!regions.isEmpty()) {
+            this.out.write("<mergeCells count=\"" + regions.size() + "\">");
+            for (CellRangeAddress region : regions) {
+                this.out.write("<mergeCell ref=\"" + region.formatAsString() + "\"/>");
+            }
+            this.out.write("</mergeCells>");
+        }
+        this.out.write("</worksheet>");
+        this.closeEntry();
+        this.overlays = Collections.emptyList();
+        return this;
+    }
+
+    /**
+     * 写出工作簿结构与样式，结束zip
+     *
+     * @throws IOException
+     */
+    public void finish() throws IOException {
+        int sheetCount = this.sheetNames.size();
+        this.zip.putNextEntry(new ZipEntry("[Content_Types].xml"));
+        this.out.write(XML_HEADER);
+        this.out.write("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">");
+        this.out.write("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>");
+        this.out.write("<Default Extension=\"xml\" ContentType=\"application/xml\"/>");
+        this.out.write("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>");
+        this.out.write("<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+        if (null != this.sharedStrings) {
+            this.out.write("<Override PartName=\"/xl/sharedStrings.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sharedStrings+xml\"/>");
+        }
+        for (int i = 1; i <= sheetCount; i++) {
+            this.out.write("<Override PartName=\"/xl/worksheets/sheet" + i + ".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        }
+        this.out.write("</Types>");
+        this.closeEntry();
+
+        this.zip.putNextEntry(new ZipEntry("_rels/.rels"));
+        this.out.write(XML_HEADER);
+        this.out.write("<Relationships xmlns=\"" + NS_PACKAGE_RELATIONSHIPS + "\">");
+        this.out.write("<Relationship Id=\"rId1\" Type=\"" + NS_RELATIONSHIPS + "/officeDocument\" Target=\"xl/workbook.xml\"/>");
+        this.out.write("</Relationships>");
+        this.closeEntry();
+
+        this.zip.putNextEntry(new ZipEntry("xl/workbook.xml"));
+        this.out.write(XML_HEADER);
+        this.out.write("<workbook xmlns=\"" + NS_MAIN + "\" xmlns:r=\"" + NS_RELATIONSHIPS + "\"><sheets>");
+        for (int i = 1; i <= sheetCount; i++) {
+            this.out.write("<sheet name=\"");
+            this.writeEscaped(this.sheetNames.get(i - 1));
+            this.out.write("\" sheetId=\"" + i + "\" r:id=\"rId" + i + "\"/>");
+        }
+        this.out.write("</sheets></workbook>");
+        this.closeEntry();
+
+        this.zip.putNextEntry(new ZipEntry("xl/_rels/workbook.xml.rels"));
+        this.out.write(XML_HEADER);
+        this.out.write("<Relationships xmlns=\"" + NS_PACKAGE_RELATIONSHIPS + "\">");
+        for (int i = 1; i <= sheetCount; i++) {
+            this.out.write("<Relationship Id=\"rId" + i + "\" Type=\"" + NS_RELATIONSHIPS + "/worksheet\" Target=\"worksheets/sheet" + i + ".xml\"/>");
+        }
+        this.out.write("<Relationship Id=\"rId" + (sheetCount + 1) + "\" Type=\"" + NS_RELATIONSHIPS + "/styles\" Target=\"styles.xml\"/>");
+        if (null != this.sharedStrings) {
+            this.out.write("<Relationship Id=\"rId" + (sheetCount + 2) + "\" Type=\"" + NS_RELATIONSHIPS + "/sharedStrings\" Target=\"sharedStrings.xml\"/>");
+        }
+        this.out.write("</Relationships>");
+        this.closeEntry();
+
+        this.zip.putNextEntry(new ZipEntry("xl/styles.xml"));
+        this.out.write(XML_HEADER);
+        this.writeStyles();
+        this.closeEntry();
+
+        if (null != this.sharedStrings) {
+            this.zip.putNextEntry(new ZipEntry("xl/sharedStrings.xml"));
+            this.out.write(XML_HEADER);
+            this.writeSharedStrings();
+            this.closeEntry();
+        }
+
+        this.zip.finish();
+    }
+
+    /**
+     * 已写出的数据行数（不含表头）
+     *
+     * @return
+     */
+    public long getRowCount() {
+        return this.rowCount;
+    }
+
+    /**
+     * 默认样式，与hutool StyleSet一致：居中、细边框，表头灰色填充，数字0.00，日期m/d/yy h:mm
+     *
+     * @throws IOException
+     */
+    private void writeStyles() throws IOException {
+        String border = "<border><left style=\"thin\"><color indexed=\"8\"/></left><right style=\"thin\"><color indexed=\"8\"/></right>"
+                + "<top style=\"thin\"><color indexed=\"8\"/></top><bottom style=\"thin\"><color indexed=\"8\"/></bottom><diagonal/></border>";
+        String alignment = "<alignment horizontal=\"center\" vertical=\"center\"/>";
+        this.out.write("<styleSheet xmlns=\"" + NS_MAIN + "\">");
+        this.out.write("<fonts count=\"1\"><font><sz val=\"11\"/><name val=\"Calibri\"/><family val=\"2\"/></font></fonts>");
+        this.out.write("<fills count=\"3\"><fill><patternFill patternType=\"none\"/></fill><fill><patternFill patternType=\"gray125\"/></fill>"
+                + "<fill><patternFill patternType=\"solid\"><fgColor indexed=\"22\"/><bgColor indexed=\"64\"/></patternFill></fill></fills>");
+        this.out.write("<borders count=\"2\"><border><left/><right/><top/><bottom/><diagonal/></border>" + border + "</borders>");
+        this.out.write("<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>");
+        this.out.write("<cellXfs count=\"5\">");
+        this.out.write("<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>");
+        this.out.write("<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"1\" xfId=\"0\" applyBorder=\"1\" applyAlignment=\"1\">" + alignment + "</xf>");
+        this.out.write("<xf numFmtId=\"0\" fontId=\"0\" fillId=\"2\" borderId=\"1\" xfId=\"0\" applyFill=\"1\" applyBorder=\"1\" applyAlignment=\"1\">" + alignment + "</xf>");
+        this.out.write("<xf numFmtId=\"2\" fontId=\"0\" fillId=\"0\" borderId=\"1\" xfId=\"0\" applyNumberFormat=\"1\" applyBorder=\"1\" applyAlignment=\"1\">" + alignment + "</xf>");
+        this.out.write("<xf numFmtId=\"22\" fontId=\"0\" fillId=\"0\" borderId=\"1\" xfId=\"0\" applyNumberFormat=\"1\" applyBorder=\"1\" applyAlignment=\"1\">" + alignment + "</xf>");
+        this.out.write("</cellXfs>");
+        this.out.write("<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>");
+        this.out.write("</styleSheet>");
+    }
+
+    private void writeSharedStrings() throws IOException {
+        this.out.write("<sst xmlns=\"" + NS_MAIN + "\" count=\"");
+        this.writeNumber(this.sharedStrings.getReferenceCount());
+        this.out.write("\" uniqueCount=\"");
+        this.writeNumber(this.sharedStrings.size());
+        this.out.write("\">");
+        for (int i = 0; i < this.sharedStrings.size(); i++) {
+            String text = this.sharedStrings.get(i);
+            this.out.write(isPreserve(text) ? "<si><t xml:space=\"preserve\">" : "<si><t>");
+            this.writeEscaped(text);
+            this.out.write("</t></si>");
+        }
+        this.out.write("</sst>");
+    }
+
+    private void writeCols(Map<Integer, Integer> widths) throws IOException {
+        if (widths.isEmpty()) {
+            return;
+        }
+        this.out.write("<cols>");
+        for (Map.Entry<Integer, Integer> entry : widths.entrySet()) {
+            String index = String.valueOf(entry.getKey() + 1);
+            this.out.write("<col min=\"" + index + "\" max=\"" + index + "\" width=\"" + entry.getValue() + "\" customWidth=\"1\"/>");
+        }
+        this.out.write("</cols>");
+    }
+
+    /**
+     * 写出一行，合并单元格内容覆盖同位置的数据
+     *
+     * @param rowIndex
+     * @param plan
+     * @param bean     表头行为null
+     * @param isHead
+     * @throws IOException
+     */
+    private void writeRow(int rowIndex, ExcelWritePlan plan, Object bean, boolean isHead) throws IOException {
+        this.writeOverlayRowsBefore(rowIndex);
+        this.startRow(rowIndex);
+        int columnCount = plan.getColumnCount();
+        int col = 0;
+        while (true) {
+            int overlayCol = this.nextOverlayCol(rowIndex);
+            if (col >= columnCount && overlayCol == Integer.MAX_VALUE) {
+                break;
+            }
+            if (col < columnCount && col < overlayCol) {
+                if (isHead) {
+                    String title = plan.getTitle(col);
+                    if (null != title) {
+                        this.writeCell(rowIndex, col, title, true);
+                    }
+                } else {
+                    int property = plan.getColumnProperty(col);
+                    if (property >= 0) {
+                        this.writeProperty(rowIndex, col, plan, property, bean);
+                    }
+                }
+                col++;
+            } else {
+                Overlay overlay = this.overlays.get(this.overlayIndex++);
+                this.writeCell(rowIndex, overlay.col, overlay.value, overlay.isHead);
+                if (overlay.col >= col) {
+                    col = overlay.col + 1;
+                }
+            }
+        }
+        this.out.write("</row>");
+        if (!isHead) {
+            this.rowCount++;
+        }
+    }
+
+    /**
+     * 下一个合并单元格内容所在列，同一单元格只保留最后一个
+     *
+     * @param rowIndex
+     * @return 当前行没有时为Integer.MAX_VALUE
+     */
+    private int nextOverlayCol(int rowIndex) {
+        while (this.overlayIndex < this.overlays.size()) {
+            Overlay overlay = this.overlays.get(this.overlayIndex);
+            if (overlay.row != rowIndex) {
+                return Integer.MAX_VALUE;
+            }
+            int next = this.overlayIndex + 1;
+            if (next < this.overlays.size() && this.overlays.get(next).row == rowIndex && this.overlays.get(next).col == overlay.col) {
+                this.overlayIndex = next;
+                continue;
+            }
+            return overlay.col;
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private void writeOverlayRowsBefore(int rowIndex) throws IOException {
+        while (this.overlayIndex < this.overlays.size() && this.overlays.get(this.overlayIndex).row < rowIndex) {
+            this.writeOverlayRow(this.overlays.get(this.overlayIndex).row);
+        }
+    }
+
+    private void writeRemainingOverlays() throws IOException {
+        while (this.overlayIndex < this.overlays.size()) {
+            this.writeOverlayRow(this.overlays.get(this.overlayIndex).row);
+        }
+    }
+
+    /**
+     * 写出只有合并单元格内容的行
+     *
+     * @param rowIndex
+     * @throws IOException
+     */
+    private void writeOverlayRow(int rowIndex) throws IOException {
+        this.startRow(rowIndex);
+        while (this.nextOverlayCol(rowIndex) != Integer.MAX_VALUE) {
+            Overlay overlay = this.overlays.get(this.overlayIndex++);
+            this.writeCell(rowIndex, overlay.col, overlay.value, overlay.isHead);
+        }
+        this.out.write("</row>");
+    }
+
+    private void startRow(int rowIndex) throws IOException {
+        this.out.write("<row r=\"");
+        this.writeNumber(rowIndex + 1);
+        this.out.write("\">");
+    }
+
+    /**
+     * 写出属性值，基本类型属性不装箱
+     *
+     * @param rowIndex
+     * @param colIndex
+     * @param plan
+     * @param property
+     * @param bean
+     * @throws IOException
+     */
+    private void writeProperty(int rowIndex, int colIndex, ExcelWritePlan plan, int property, Object bean) throws IOException {
+        switch (plan.getKind(property)) {
+            case INT:
+                this.writeLongCell(rowIndex, colIndex, plan.getInt(property, bean));
+                break;
+            case LONG:
+                this.writeLongCell(rowIndex, colIndex, plan.getLong(property, bean));
+                break;
+            case DOUBLE:
+                double value = plan.getDouble(property, bean);
+                if (Double.isNaN(value) || Double.isInfinite(value)) {
+                    this.writeString(rowIndex, colIndex, STYLE_CELL, Double.toString(value));
+                    break;
+                }
+                this.startCell(rowIndex, colIndex, STYLE_NUMBER, null);
+                this.out.write("><v>");
+                this.out.write(Double.toString(value));
+                this.out.write("</v></c>");
+                break;
+            default:
+                this.writeCell(rowIndex, colIndex, plan.getValue(property, bean), false);
+                break;
+        }
+    }
+
+    private void writeLongCell(int rowIndex, int colIndex, long value) throws IOException {
+        this.startCell(rowIndex, colIndex, STYLE_CELL, null);
+        this.out.write("><v>");
+        this.writeNumber(value);
+        this.out.write("</v></c>");
+    }
+
+    /**
+     * 写出单元格，类型与样式规则与hutool CellUtil.setCellValue一致
+     *
+     * @param rowIndex
+     * @param colIndex
+     * @param value
+     * @param isHead
+     * @throws IOException
+     */
+    private void writeCell(int rowIndex, int colIndex, Object value, boolean isHead) throws IOException {
+        int style = isHead ? STYLE_HEAD : STYLE_CELL;
+        if (null == value) {
+            this.startCell(rowIndex, colIndex, style, null);
+            this.out.write("/>");
+            return;
+        }
+        if (value instanceof Number) {
+            double number = ((Number) value).doubleValue();
+            if (Double.isNaN(number) || Double.isInfinite(number)) {
+                this.writeString(rowIndex, colIndex, style, value.toString());
+                return;
+            }
+            if (!isHead && (value instanceof Double || value instanceof Float || value instanceof BigDecimal)) {
+                style = STYLE_NUMBER;
+            }
+            this.startCell(rowIndex, colIndex, style, null);
+            this.out.write("><v>");
+            if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                this.writeNumber(((Number) value).longValue());
+            } else if (value instanceof BigDecimal) {
+                this.out.write(((BigDecimal) value).toPlainString());
+            } else {
+                this.out.write(Double.toString(number));
+            }
+            this.out.write("</v></c>");
+            return;
+        }
+        if (value instanceof Boolean) {
+            this.startCell(rowIndex, colIndex, style, "b");
+            this.out.write((Boolean) value ? "><v>1</v></c>" : "><v>0</v></c>");
+            return;
+        }
+        Date date = toDate(value);
+        if (null != date) {
+            this.startCell(rowIndex, colIndex, isHead ? style : STYLE_DATE, null);
+            this.out.write("><v>");
+            this.out.write(Double.toString(DateUtil.getExcelDate(date)));
+            this.out.write("</v></c>");
+            return;
+        }
+        this.writeString(rowIndex, colIndex, style, value.toString());
+    }
+
+    /**
+     * 写出字符串，在共享字符串表中时写为下标，否则写为内联字符串
+     *
+     * @param rowIndex
+     * @param colIndex
+     * @param style
+     * @param text
+     * @throws IOException
+     */
+    private void writeString(int rowIndex, int colIndex, int style, String text) throws IOException {
+        int index = null != this.sharedStrings ? this.sharedStrings.indexOf(colIndex, text) : -1;
+        if (index >= 0) {
+            this.startCell(rowIndex, colIndex, style, "s");
+            this.out.write("><v>");
+            this.writeNumber(index);
+            this.out.write("</v></c>");
+            return;
+        }
+        this.startCell(rowIndex, colIndex, style, "inlineStr");
+        this.out.write(isPreserve(text) ? "><is><t xml:space=\"preserve\">" : "><is><t>");
+        this.writeEscaped(text);
+        this.out.write("</t></is></c>");
+    }
+
+    /**
+     * 首尾有空白时需保留空白
+     *
+     * @param text
+     * @return
+     */
+    private static boolean isPreserve(String text) {
+        return !text.isEmpty() && (Character.isWhitespace(text.charAt(0)) || Character.isWhitespace(text.charAt(text.length() - 1)));
+    }
+
+    private void startCell(int rowIndex, int colIndex, int style, String type) throws IOException {
+        this.out.write("<c r=\"");
+        this.out.write(this.columnName(colIndex));
+        this.writeNumber(rowIndex + 1);
+        this.out.write("\" s=\"");
+        this.writeNumber(style);
+        if (null != type) {
+            this.out.write("\" t=\"");
+            this.out.write(type);
+        }
+        this.out.write('"');
+    }
+
+    private String columnName(int colIndex) {
+        if (colIndex >= this.columnNames.length) {
+            String[] names = new String[Math.max(colIndex + 1, this.columnNames.length * 2)];
+            System.arraycopy(this.columnNames, 0, names, 0, this.columnNames.length);
+            for (int i = this.columnNames.length; i < names.length; i++) {
+                names[i] = CellReference.convertNumToColString(i);
+            }
+            this.columnNames = names;
+        }
+        return this.columnNames[colIndex];
+    }
+
+    /**
+     * 写出整数，不创建字符串
+     *
+     * @param value
+     * @throws IOException
+     */
+    private void writeNumber(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            this.out.write(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            this.out.write('-');
+            value = -value;
+        }
+        int pos = this.digits.length;
+        do {
+            this.digits[--pos] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        this.out.write(this.digits, pos, this.digits.length - pos);
+    }
+
+    /**
+     * XML转义，去除XML 1.0不允许的控制字符
+     *
+     * @param text
+     * @throws IOException
+     */
+    private void writeEscaped(String text) throws IOException {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char ch = text.charAt(i);
+            switch (ch) {
+                case '&':
+                    this.out.write("&amp;");
+                    break;
+                case '<':
+                    this.out.write("&lt;");
+                    break;
+                case '>':
+                    this.out.write("&gt;");
+                    break;
+                case '"':
+                    this.out.write("&quot;");
+                    break;
+                default:
+                    if (ch >= 0x20 || ch == '\t' || ch == '\n' || ch == '\r') {
+                        this.out.write(ch);
+                    }
+                    break;
+            }
+        }
+    }
+
+    private void closeEntry() throws IOException {
+        this.out.flush();
+        this.zip.closeEntry();
+    }
+
+    private int addSheetName(String sheetName) {
+        String safeName = WorkbookUtil.createSafeSheetName(StrUtil.blankToDefault(sheetName, "Sheet" + (this.sheetNames.size() + 1)));
+        String name = safeName;
+        for (int i = 1; !this.sheetNameSet.add(name.toLowerCase()); i++) {
+            String suffix = "(" + i + ")";
+            name = StrUtil.sub(safeName, 0, 31 - suffix.length()) + suffix;
+        }
+        this.sheetNames.add(name);
+        return this.sheetNames.size();
+    }
+
+    private static Date toDate(Object value) {
+        if (value instanceof Date) {
+            return (Date) value;
+        }
+        if (value instanceof Calendar) {
+            return ((Calendar) value).getTime();
+        }
+        if (value instanceof LocalDateTime) {
+            return Date.from(((LocalDateTime) value).atZone(ZoneId.systemDefault()).toInstant());
+        }
+        if (value instanceof LocalDate) {
+            return Date.from(((LocalDate) value).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        }
+        if (value instanceof Instant) {
+            return Date.from((Instant) value);
+        }
+        return null;
+    }
+
+    private static Object newInstance(Class<?> cls) {
+        try {
+            return cls.newInstance();
+        } catch (Exception ex) {
+            throw new RuntimeException("创建对象失败：" + cls.getName(), ex);
+        }
+    }
+
+    /**
+     * 合并单元格内容
+     */
+    private static class Overlay {
+
+        final int row;
+
+        final int col;
+
+        final Object value;
+
+        final boolean isHead;
+
+        Overlay(int row, int col, Object value, boolean isHead) {
+            this.row = row;
+            this.col = col;
+            this.value = value;
+            this.isHead = isHead;
+        }
+    }
+}
@@ -33,6 +33,7 @@ public interface StringPool {
 	String DOUBLE_SLASH		= "#//";
 	String COLON			= ":";
 	String COMMA			= ",";
+	String CRLF				= "\r\n";
 	String DASH				= "-";
 	String DOLLAR			= "$";
 	String DOT				= ".";
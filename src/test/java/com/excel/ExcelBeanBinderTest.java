@@ -0,0 +1,43 @@
+package com.excel;
+
+import com.excel.ExcelUtils.ExcelColumn;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 字段绑定
+ *
+ * @author: MingWei Yang
+ */
+class ExcelBeanBinderTest {
+
+    @Test
+    void bindsFinalFields() {
+        ExcelBeanBinder<FinalBean> binder = ExcelBeanBinder.of(FinalBean.class);
+        FinalBean bean = new FinalBean();
+
+        binder.bind(0, 0, "A01", bean);
+        binder.bind(0, 1, 3, bean);
+
+        assertEquals("A01", bean.getCode());
+        assertEquals(3, bean.getAmount());
+    }
+
+    public static class FinalBean {
+
+        @ExcelColumn(value = "编码", col = 0)
+        private final String code = null;
+
+        @ExcelColumn(value = "数量", col = 1)
+        private Integer amount;
+
+        public String getCode() {
+            return this.code;
+        }
+
+        public Integer getAmount() {
+            return this.amount;
+        }
+    }
+}
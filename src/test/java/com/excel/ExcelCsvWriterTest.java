@@ -0,0 +1,84 @@
+package com.excel;
+
+import cn.hutool.core.date.DateUtil;
+import com.excel.ExcelUtils.Excel;
+import com.excel.ExcelUtils.ExcelColumn;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * CSV写出
+ *
+ * @author: MingWei Yang
+ */
+class ExcelCsvWriterTest {
+
+    @Test
+    void writesHeaderAndQuotedValues() throws Exception {
+        CsvRow plain = new CsvRow();
+        plain.setText("订单");
+        plain.setAmount(9_000_000_000L);
+        plain.setCreateTime(DateUtil.parse("2021-05-11 21:13:45"));
+        CsvRow quoted = new CsvRow();
+        quoted.setText("a,\"b\"\nc");
+        StringWriter out = new StringWriter();
+
+        int rows = ExcelCsvWriter.write(out, Excel.build(CsvRow.class, Arrays.asList(plain, quoted)));
+
+        assertEquals(2, rows);
+        assertEquals("内容,数量,时间\r\n"
+                + "订单,9000000000,2021-05-11 21:13:45\r\n"
+                + "\"a,\"\"b\"\"\nc\",,\r\n", out.toString());
+    }
+
+    @Test
+    void writesTabSeparatedValues() throws Exception {
+        CsvRow row = new CsvRow();
+        row.setText("a,b\tc");
+        row.setAmount(1L);
+        StringWriter out = new StringWriter();
+
+        ExcelCsvWriter.write(out, Excel.build(CsvRow.class, Arrays.asList(row)), ExcelCsvWriter.TAB);
+
+        //逗号不再需要引号，制表符需要
+        assertEquals("内容\t数量\t时间\r\n"
+                + "\"a,b\tc\"\t1\t\r\n", out.toString());
+    }
+
+    @Test
+    void escapesFormulaPrefixes() throws Exception {
+        CsvRow formula = new CsvRow();
+        formula.setText("=1+1");
+        formula.setAmount(-5L);
+        CsvRow tab = new CsvRow();
+        tab.setText("\t@SUM(A1)");
+        tab.setAmount(1L);
+        StringWriter out = new StringWriter();
+
+        ExcelCsvWriter.write(out, Excel.build(CsvRow.class, Arrays.asList(formula, tab)));
+
+        String[] lines = out.toString().split("\r\n");
+        //负数不转义
+        assertEquals("'=1+1,-5,", lines[1]);
+        assertEquals("'\t@SUM(A1),1,", lines[2]);
+    }
+
+    @Data
+    public static class CsvRow {
+
+        @ExcelColumn(value = "内容", col = 0)
+        private String text;
+
+        @ExcelColumn(value = "数量", col = 1)
+        private Long amount;
+
+        @ExcelColumn(value = "时间", col = 2)
+        private Date createTime;
+    }
+}
@@ -0,0 +1,92 @@
+package com.excel;
+
+import com.excel.ExcelSaxReaderTest.Order;
+import com.excel.ExcelUtils.Excel;
+import com.excel.ExcelUtils.ExcelEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.excel.ExcelSaxReaderTest.orders;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 异步导出任务
+ *
+ * @author: MingWei Yang
+ */
+class ExcelExportJobServiceTest {
+
+    @TempDir
+    File tmp;
+
+    private ExcelExportJobService service;
+
+    @AfterEach
+    void tearDown() {
+        ExcelAdmissionController.setDefault(new ExcelAdmissionController(0, Duration.ZERO));
+        if (null != this.service) {
+            this.service.shutdown();
+        }
+    }
+
+    @Test
+    void cleansExpiredJobsWithoutNewSubmits() throws Exception {
+        this.service = new ExcelExportJobService(1, 4, this.tmp, Duration.ofMillis(200));
+        String jobId = this.service.submit("订单", ExcelEngine.XML, Excel.build(Order.class, orders(10)));
+        File file = await(jobId).getFile();
+        assertTrue(file.exists());
+
+        for (int i = 0; i < 50 && null != this.service.getJob(jobId); i++) {
+            Thread.sleep(100);
+        }
+
+        assertNull(this.service.getJob(jobId));
+        assertFalse(file.exists());
+    }
+
+    @Test
+    void admitsJobOnceForNestedWrites() throws Exception {
+        Excel<Order> excel = Excel.build(Order.class, orders(10));
+        //只够一次申请，writeExcel再次申请时拒绝
+        long cost = ExcelAdmissionController.estimateExport(ExcelEngine.XML, excel);
+        ExcelAdmissionController.setDefault(new ExcelAdmissionController(cost + 1, Duration.ZERO));
+        this.service = new ExcelExportJobService(1, 4, this.tmp, Duration.ofMinutes(1));
+
+        ExcelExportJob job = await(this.service.submit("订单", ExcelEngine.XML, excel));
+
+        assertEquals(ExcelExportJob.Status.DONE, job.getStatus());
+        assertEquals(0, ExcelAdmissionController.getDefault().getUsedBytes());
+    }
+
+    @Test
+    void failsJobsOverTheMemoryBudget() throws Exception {
+        ExcelAdmissionController.setDefault(new ExcelAdmissionController(1024, Duration.ZERO));
+        this.service = new ExcelExportJobService(1, 4, this.tmp, Duration.ofMinutes(1));
+        AtomicBoolean closed = new AtomicBoolean();
+        Excel<Order> excel = Excel.build(Order.class, orders(10));
+        excel.setStream(orders(10).stream().onClose(() -> closed.set(true)));
+
+        ExcelExportJob job = await(this.service.submit("订单", ExcelEngine.XML, excel));
+
+        assertEquals(ExcelExportJob.Status.FAILED, job.getStatus());
+        assertNull(job.getFile());
+        assertTrue(closed.get());
+    }
+
+    private ExcelExportJob await(String jobId) throws InterruptedException {
+        ExcelExportJob job = this.service.getJob(jobId);
+        for (int i = 0; i < 100 && !job.isFinished(); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(job.isFinished());
+        return job;
+    }
+}
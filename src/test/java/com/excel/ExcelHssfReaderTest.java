@@ -0,0 +1,128 @@
+package com.excel;
+
+import com.excel.ExcelSaxReaderTest.Order;
+import com.excel.ExcelUtils.ExcelColumn;
+import lombok.Data;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.List;
+
+import static com.excel.ExcelSaxReaderTest.orders;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * xls流式读取
+ *
+ * @author: MingWei Yang
+ */
+class ExcelHssfReaderTest {
+
+    @Test
+    void readsSameValuesAsRead() throws Exception {
+        List<Order> orders = orders(300);
+        HSSFWorkbook workbook = new HSSFWorkbook();
+        Sheet sheet = workbook.createSheet();
+        CellStyle dateStyle = workbook.createCellStyle();
+        dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss"));
+        Row head = sheet.createRow(0);
+        String[] titles = {"编号", "名称", "创建时间", "数量"};
+        for (int i = 0; i < titles.length; i++) {
+            head.createCell(i).setCellValue(titles[i]);
+        }
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            Row row = sheet.createRow(i + 1);
+            row.createCell(0).setCellValue(order.getId());
+            row.createCell(1).setCellValue(order.getName());
+            row.createCell(2).setCellValue(order.getCreateTime());
+            row.getCell(2).setCellStyle(dateStyle);
+            row.createCell(3).setCellValue(order.getAmount());
+        }
+        MockMultipartFile file = ExcelTestFiles.upload(workbook, "orders.xls");
+
+        assertEquals(orders, ExcelUtils.read(file, Order.class));
+        assertEquals(orders, ExcelUtils.readStream(file, Order.class));
+    }
+
+    @Test
+    void readsFormulaResultsByCachedType() throws Exception {
+        HSSFWorkbook workbook = new HSSFWorkbook();
+        Sheet sheet = workbook.createSheet();
+        Row head = sheet.createRow(0);
+        head.createCell(0).setCellValue("名称");
+        head.createCell(1).setCellValue("数量");
+        head.createCell(2).setCellValue("启用");
+        head.createCell(3).setCellValue("备注");
+        formulaRow(sheet, 1, "a", "1+1", "1=1", "IF(A2=\"\",\"\",\"x\")");
+        formulaRow(sheet, 2, "b", "NA()", "1=2", "IF(A3=\"b\",\"\",\"y\")");
+        formulaRow(sheet, 3, "c", "IF(A4=\"c\",\"\",1)", "1/0", "1=1");
+        workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+        MockMultipartFile file = ExcelTestFiles.upload(workbook, "formula.xls");
+
+        List<FormulaRow> rows = ExcelUtils.readStream(file, FormulaRow.class);
+
+        assertEquals(3, rows.size());
+        //数字、布尔、字符串结果
+        assertEquals("a", rows.get(0).getName());
+        assertEquals(Long.valueOf(2), rows.get(0).getAmount());
+        assertEquals(Boolean.TRUE, rows.get(0).getEnabled());
+        assertEquals("x", rows.get(0).getRemark());
+        //错误结果与空字符串结果为空，不能读为0
+        assertNull(rows.get(1).getAmount());
+        assertEquals(Boolean.FALSE, rows.get(1).getEnabled());
+        assertNull(rows.get(1).getRemark());
+        //空字符串结果的数字列、错误结果的布尔列
+        assertNull(rows.get(2).getAmount());
+        assertNull(rows.get(2).getEnabled());
+        assertEquals("true", rows.get(2).getRemark());
+    }
+
+    @Test
+    void blankCellsCountForRequiredColumns() throws Exception {
+        HSSFWorkbook workbook = new HSSFWorkbook();
+        Sheet sheet = workbook.createSheet();
+        Row head = sheet.createRow(0);
+        head.createCell(0).setCellValue("编号");
+        head.createCell(1).setCellValue("名称");
+        Row row = sheet.createRow(1);
+        row.createCell(0).setCellValue(1L);
+        //行内最后一个单元格为有格式的空单元格
+        row.createCell(1).setCellStyle(workbook.createCellStyle());
+        MockMultipartFile file = ExcelTestFiles.upload(workbook, "blank.xls");
+
+        String baseline = assertThrows(RuntimeException.class, () -> ExcelUtils.read(file, Order.class)).getMessage();
+
+        assertEquals(baseline, assertThrows(RuntimeException.class, () -> ExcelUtils.readStream(file, Order.class)).getMessage());
+    }
+
+    private static void formulaRow(Sheet sheet, int rowIndex, String name, String amount, String enabled, String remark) {
+        Row row = sheet.createRow(rowIndex);
+        row.createCell(0).setCellValue(name);
+        row.createCell(1).setCellFormula(amount);
+        row.createCell(2).setCellFormula(enabled);
+        row.createCell(3).setCellFormula(remark);
+    }
+
+    @Data
+    public static class FormulaRow {
+
+        @ExcelColumn(value = "名称", col = 0)
+        private String name;
+
+        @ExcelColumn(value = "数量", col = 1)
+        private Long amount;
+
+        @ExcelColumn(value = "启用", col = 2)
+        private Boolean enabled;
+
+        @ExcelColumn(value = "备注", col = 3)
+        private String remark;
+    }
+}
@@ -0,0 +1,47 @@
+package com.excel;
+
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 合并单元格重叠校验
+ *
+ * @author: MingWei Yang
+ */
+class ExcelMergeIndexTest {
+
+    @Test
+    void acceptsDisjointRegions() {
+        //相邻、跨行不相交
+        ExcelMergeIndex.checkOverlap(Collections.emptyList(), Arrays.asList(
+                CellRangeAddress.valueOf("A1:A10"), CellRangeAddress.valueOf("B5:C6"),
+                CellRangeAddress.valueOf("A11:C11"), CellRangeAddress.valueOf("D1:D2")));
+    }
+
+    @Test
+    void rejectsOverlappingRegions() {
+        //包含
+        assertThrows(IllegalStateException.class, () -> ExcelMergeIndex.checkOverlap(Collections.emptyList(), Arrays.asList(
+                CellRangeAddress.valueOf("A1:D10"), CellRangeAddress.valueOf("B2:C3"))));
+        //只有一列相交
+        assertThrows(IllegalStateException.class, () -> ExcelMergeIndex.checkOverlap(Collections.emptyList(), Arrays.asList(
+                CellRangeAddress.valueOf("A1:C1"), CellRangeAddress.valueOf("C1:C3"))));
+        //较早开始、仍未结束的区域
+        assertThrows(IllegalStateException.class, () -> ExcelMergeIndex.checkOverlap(Collections.emptyList(), Arrays.asList(
+                CellRangeAddress.valueOf("B1:B100"), CellRangeAddress.valueOf("A2:A3"), CellRangeAddress.valueOf("A50:B50"))));
+        //与已注册区域重叠
+        assertThrows(IllegalStateException.class, () -> ExcelMergeIndex.checkOverlap(
+                Collections.singletonList(CellRangeAddress.valueOf("A1:B2")), Collections.singletonList(CellRangeAddress.valueOf("B2:C3"))));
+    }
+
+    @Test
+    void rejectsSingleCellRegions() {
+        assertThrows(IllegalArgumentException.class, () -> ExcelMergeIndex.checkOverlap(Collections.emptyList(),
+                Collections.singletonList(CellRangeAddress.valueOf("A1:A1"))));
+    }
+}
@@ -0,0 +1,60 @@
+package com.excel;
+
+import com.excel.ExcelUtils.ExcelColumn;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 并行绑定
+ *
+ * @author: MingWei Yang
+ */
+class ExcelParallelBinderTest {
+
+    private static final Set<String> THREADS = ConcurrentHashMap.newKeySet();
+
+    @Test
+    void bindsInOrderWithinParallelism() {
+        List<List<Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            rows.add(Arrays.asList("名称" + i, (long) i));
+        }
+        THREADS.clear();
+
+        List<Row> result = ExcelParallelBinder.bind(ExcelBeanBinder.of(Row.class), rows, 2);
+
+        assertEquals(rows.size(), result.size());
+        for (int i = 0; i < result.size(); i++) {
+            assertEquals("名称" + i, result.get(i).getName());
+            assertEquals(Long.valueOf(i), result.get(i).getAmount());
+        }
+        //只有2个任务，不创建新的线程池
+        assertTrue(THREADS.size() <= 2, THREADS.toString());
+        for (String thread : THREADS) {
+            assertTrue(thread.startsWith("ForkJoinPool.commonPool") || thread.equals(Thread.currentThread().getName()), thread);
+        }
+    }
+
+    @Data
+    public static class Row {
+
+        @ExcelColumn(value = "名称", col = 0)
+        private String name;
+
+        @ExcelColumn(value = "数量", col = 1)
+        private Long amount;
+
+        public Row() {
+            THREADS.add(Thread.currentThread().getName());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.excel;
+
+import com.excel.ExcelSaxReaderTest.Order;
+import com.excel.ExcelUtils.ExcelColumn;
+import lombok.Data;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 校验读取的错误与read()一致
+ *
+ * @author: MingWei Yang
+ */
+class ExcelReadErrorsTest {
+
+    @Test
+    void convertErrorMatchesRead() throws Exception {
+        MockMultipartFile file = fixture("abc", "b");
+
+        String baseline = assertThrows(RuntimeException.class, () -> ExcelUtils.read(file, Order.class)).getMessage();
+        ExcelReadResult<Order> result = ExcelUtils.readValidated(file, Order.class);
+
+        assertEquals(1, result.getErrors().size());
+        assertEquals(ExcelReadErrors.CONVERT, result.getErrors().getType(0));
+        //read()的行号不计空行，错误汇总为Excel中的行号
+        assertEquals(4, result.getErrors().getRow(0));
+        assertEquals(baseline.replace("第3行", "第4行"), result.getErrors().getMessage(0));
+        assertEquals(baseline, assertThrows(RuntimeException.class, () -> ExcelUtils.readStream(file, Order.class)).getMessage());
+        assertEquals(2, result.getData().size());
+    }
+
+    @Test
+    void requiredErrorMatchesRead() throws Exception {
+        MockMultipartFile file = fixture(2L, "");
+
+        String baseline = assertThrows(RuntimeException.class, () -> ExcelUtils.read(file, Order.class)).getMessage();
+        ExcelReadResult<Order> result = ExcelUtils.readValidated(file, Order.class);
+
+        assertEquals(1, result.getErrors().size());
+        assertEquals(ExcelReadErrors.REQUIRED, result.getErrors().getType(0));
+        assertEquals(4, result.getErrors().getRow(0));
+        assertEquals("第4行：" + baseline, result.getErrors().getMessage(0));
+        assertEquals(baseline, assertThrows(RuntimeException.class, () -> ExcelUtils.readStream(file, Order.class)).getMessage());
+    }
+
+    @Test
+    void convertersReportFailureWithoutThrowing() {
+        assertSame(ExcelCellConverter.FAILED, ExcelCellConverters.of(Long.class).convert("abc"));
+        assertSame(ExcelCellConverter.FAILED, ExcelCellConverters.of(Date.class).convert("无"));
+        assertSame(ExcelCellConverter.FAILED, ExcelCellConverters.of(Order.class).convert("abc"));
+        assertEquals(12L, ExcelCellConverters.of(long.class).convert("12"));
+    }
+
+    @Test
+    void customConverterFailureIsRecorded() throws Exception {
+        MockMultipartFile file = fixture(2L, "b");
+
+        ExcelReadResult<CodeRow> result = ExcelUtils.readValidated(file, CodeRow.class);
+
+        assertEquals(1, result.getErrors().size());
+        assertEquals(ExcelReadErrors.CONVERT, result.getErrors().getType(0));
+        assertEquals(4, result.getErrors().getRow(0));
+        assertEquals(2, result.getData().size());
+    }
+
+    /**
+     * 表头、3条数据，第1条后有一个空行，第2条为指定的值，在Excel第4行
+     *
+     * @param id
+     * @param name
+     * @return
+     * @throws Exception
+     */
+    private static MockMultipartFile fixture(Object id, String name) throws Exception {
+        XSSFWorkbook workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet();
+        dataRow(sheet, 0, "编号", "名称");
+        dataRow(sheet, 1, 1L, "a");
+        sheet.createRow(2);
+        dataRow(sheet, 3, id, name);
+        dataRow(sheet, 4, 3L, "c");
+        return ExcelTestFiles.upload(workbook, "orders.xlsx");
+    }
+
+    private static void dataRow(Sheet sheet, int rowIndex, Object id, String name) {
+        Row row = sheet.createRow(rowIndex);
+        if (id instanceof Long) {
+            row.createCell(0).setCellValue((Long) id);
+        } else {
+            row.createCell(0).setCellValue((String) id);
+        }
+        row.createCell(1).setCellValue(name);
+    }
+
+    @Data
+    public static class CodeRow {
+
+        @ExcelColumn(value = "名称", col = 1, converter = CodeConverter.class)
+        private String code;
+    }
+
+    /**
+     * 只接受a、c
+     */
+    public static class CodeConverter implements ExcelCellConverter<String> {
+
+        @Override
+        public String convert(Object value) {
+            return "a".equals(value) || "c".equals(value) ? value.toString().toUpperCase() : ExcelCellConverter.failed();
+        }
+    }
+}
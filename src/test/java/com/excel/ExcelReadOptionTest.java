@@ -0,0 +1,135 @@
+package com.excel;
+
+import com.excel.ExcelUtils.ExcelColumn;
+import lombok.Data;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 流式读取范围与列
+ *
+ * @author: MingWei Yang
+ */
+class ExcelReadOptionTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"xlsx", "xls"})
+    void pageSkipsRowsAndStopsAtLimit(String type) throws Exception {
+        MockMultipartFile file = fixture(type);
+
+        assertEquals(Arrays.asList("b", "c"), names(ExcelUtils.readStream(file, Item.class, ExcelReadOption.page(1, 2))));
+        //空行不计入数据行
+        assertEquals(Arrays.asList("d", "e"), names(ExcelUtils.readStream(file, Item.class, ExcelReadOption.page(3, 10))));
+        assertEquals(Arrays.asList("e"), names(ExcelUtils.readStream(file, Item.class, ExcelReadOption.page(4, 10))));
+        assertEquals(0, ExcelUtils.readStream(file, Item.class, ExcelReadOption.page(5, 10)).size());
+        assertEquals(names(ExcelUtils.read(file, Item.class)), names(ExcelUtils.readStream(file, Item.class, ExcelReadOption.page(0, 0))));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"xlsx", "xls"})
+    void columnsReadsSelectedColumnsOnly(String type) throws Exception {
+        MockMultipartFile file = fixture(type);
+
+        List<Item> items = ExcelUtils.readStream(file, Item.class, ExcelReadOption.columns(1));
+
+        assertEquals(5, items.size());
+        assertNull(items.get(0).getName());
+        assertEquals(Long.valueOf(1), items.get(0).getAmount());
+        assertEquals(Long.valueOf(5), items.get(4).getAmount());
+        //未读取的列不做必填校验
+        assertEquals(0, ExcelUtils.readValidated(file, Item.class, ExcelReadOption.columns(1), 10).getErrors().size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"xlsx", "xls"})
+    void skippedRowsAreNotConverted(String type) throws Exception {
+        byte[] bytes = fixture(type).getBytes();
+        List<Object> values = new ArrayList<>();
+        ExcelRowHandler<Item> handler = new ExcelRowHandler<Item>(ExcelBeanBinder.of(Item.class), ExcelReadOption.page(2, 1), item -> {
+        }, null) {
+            @Override
+            public void cell(int colIndex, Object value) {
+                if (null != value) {
+                    values.add(value);
+                }
+                super.cell(colIndex, value);
+            }
+        };
+
+        if ("xls".equals(type)) {
+            try (POIFSFileSystem fs = new POIFSFileSystem(new ByteArrayInputStream(bytes))) {
+                ExcelHssfReader.read(fs, handler);
+            }
+        } else {
+            try (OPCPackage pkg = OPCPackage.open(new ByteArrayInputStream(bytes))) {
+                ExcelSaxReader.read(pkg, handler);
+            }
+        }
+
+        //表头和跳过的行只判断是否为空行，不取值
+        assertEquals(Arrays.asList("c", 3L, "备注c"), values);
+        assertEquals(1, handler.getRowCount());
+    }
+
+    /**
+     * 表头、5条数据，第3条后有一个空行
+     *
+     * @param type
+     * @return
+     * @throws Exception
+     */
+    private static MockMultipartFile fixture(String type) throws Exception {
+        Workbook workbook = "xls".equals(type) ? new HSSFWorkbook() : new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet();
+        Row head = sheet.createRow(0);
+        head.createCell(0).setCellValue("名称");
+        head.createCell(1).setCellValue("数量");
+        head.createCell(2).setCellValue("备注");
+        String[] names = {"a", "b", "c", "d", "e"};
+        int rowIndex = 1;
+        for (int i = 0; i < names.length; i++) {
+            if (i == 3) {
+                sheet.createRow(rowIndex++).createCell(0).setCellValue("");
+            }
+            Row row = sheet.createRow(rowIndex++);
+            row.createCell(0).setCellValue(names[i]);
+            row.createCell(1).setCellValue(i + 1);
+            row.createCell(2).setCellValue("备注" + names[i]);
+        }
+        return ExcelTestFiles.upload(workbook, "items." + type);
+    }
+
+    private static List<String> names(List<Item> items) {
+        return items.stream().map(Item::getName).collect(Collectors.toList());
+    }
+
+    @Data
+    public static class Item {
+
+        @ExcelColumn(value = "名称", col = 0, required = true)
+        private String name;
+
+        @ExcelColumn(value = "数量", col = 1)
+        private Long amount;
+
+        @ExcelColumn(value = "备注", col = 2)
+        private String remark;
+    }
+}
@@ -0,0 +1,104 @@
+package com.excel;
+
+import cn.hutool.core.date.DateUtil;
+import com.excel.ExcelUtils.Excel;
+import com.excel.ExcelUtils.ExcelColumn;
+import com.excel.ExcelUtils.ExcelName;
+import com.excel.ExcelUtils.SheetName;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * xlsx流式读取与read()结果一致
+ *
+ * @author: MingWei Yang
+ */
+class ExcelSaxReaderTest {
+
+    private static final Date START = DateUtil.parse("2021-05-11 21:13:45");
+
+    @Test
+    void readsSameValuesAsRead() throws Exception {
+        List<Order> orders = orders(500);
+        MockMultipartFile file = export(new Excel<>(Order.class, orders));
+
+        assertEquals(orders, ExcelUtils.read(file, Order.class));
+        assertEquals(orders, ExcelUtils.readStream(file, Order.class));
+    }
+
+    @Test
+    void readFillsMergedCellsUnlikeReadStream() throws Exception {
+        ExcelUtilsMerge merge = new ExcelUtilsMerge();
+        merge.setFirstRow(1);
+        merge.setLastRow(3);
+        merge.setFirstColumn(4);
+        merge.setLastColumn(4);
+        merge.setContent("A组");
+        MockMultipartFile file = export(new Excel<>(Order.class, orders(5), Collections.singletonList(merge)));
+
+        List<Order> read = ExcelUtils.read(file, Order.class);
+        List<Order> stream = ExcelUtils.readStream(file, Order.class);
+
+        assertEquals(Arrays.asList("A组", "A组", "A组", null, null), read.stream().map(Order::getGroup).collect(Collectors.toList()));
+        assertEquals(Arrays.asList("A组", null, null, null, null), stream.stream().map(Order::getGroup).collect(Collectors.toList()));
+        for (Order order : stream) {
+            order.setGroup(null);
+        }
+        for (Order order : read) {
+            order.setGroup(null);
+        }
+        assertEquals(read, stream);
+    }
+
+    static MockMultipartFile export(Excel<?> excel) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ExcelUtils.exportExcel(response, excel);
+        return ExcelTestFiles.upload(response.getContentAsByteArray(), "orders.xlsx");
+    }
+
+    static List<Order> orders(int size) {
+        List<Order> orders = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Order order = new Order();
+            //超出int范围
+            order.setId(9_000_000_000L + i);
+            order.setName("订单" + i);
+            order.setCreateTime(DateUtil.offsetSecond(START, i * 3661));
+            order.setAmount(i % 7);
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    @Data
+    @ExcelName("订单")
+    @SheetName("订单")
+    public static class Order {
+
+        @ExcelColumn(value = "编号", col = 0)
+        private Long id;
+
+        @ExcelColumn(value = "名称", col = 1, required = true)
+        private String name;
+
+        @ExcelColumn(value = "创建时间", col = 2)
+        private Date createTime;
+
+        @ExcelColumn(value = "数量", col = 3)
+        private int amount;
+
+        @ExcelColumn(value = "分组", col = 4)
+        private String group;
+    }
+}
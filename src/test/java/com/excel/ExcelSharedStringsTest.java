@@ -0,0 +1,56 @@
+package com.excel;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 有界共享字符串表
+ *
+ * @author: MingWei Yang
+ */
+class ExcelSharedStringsTest {
+
+    @Test
+    void sharesRepeatedStringsFromSecondOccurrence() {
+        ExcelSharedStrings strings = new ExcelSharedStrings();
+
+        assertEquals(-1, strings.indexOf(0, "已完成"));
+        assertEquals(0, strings.indexOf(0, "已完成"));
+        assertEquals(0, strings.indexOf(1, "已完成"));
+        assertEquals(-1, strings.indexOf(0, "进行中"));
+
+        assertEquals(1, strings.size());
+        assertEquals("已完成", strings.get(0));
+        assertEquals(2, strings.getReferenceCount());
+        assertEquals(2, strings.getInlineCount());
+    }
+
+    @Test
+    void inlinesHighCardinalityColumns() {
+        ExcelSharedStrings strings = new ExcelSharedStrings(16, 2);
+        strings.indexOf(0, "a");
+        strings.indexOf(0, "b");
+        //超过基数上限后新字符串改为内联，已是候选的字符串也不再加入
+        strings.indexOf(0, "c");
+
+        assertEquals(-1, strings.indexOf(0, "a"));
+        assertEquals(0, strings.size());
+
+        //新Sheet重新统计
+        strings.startSheet();
+        strings.indexOf(0, "a");
+        assertEquals(0, strings.indexOf(0, "a"));
+    }
+
+    @Test
+    void inlinesOnceTableIsFull() {
+        ExcelSharedStrings strings = new ExcelSharedStrings(1, 1024);
+        strings.indexOf(0, "a");
+        strings.indexOf(0, "a");
+        strings.indexOf(0, "b");
+
+        assertEquals(-1, strings.indexOf(0, "b"));
+        assertEquals(1, strings.size());
+    }
+}
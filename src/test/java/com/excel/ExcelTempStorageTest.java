@@ -0,0 +1,58 @@
+package com.excel;
+
+import com.excel.ExcelSaxReaderTest.Order;
+import com.excel.ExcelUtils.Excel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.excel.ExcelSaxReaderTest.orders;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * SXSSF临时文件存储
+ *
+ * @author: MingWei Yang
+ */
+class ExcelTempStorageTest {
+
+    @TempDir
+    File directory;
+
+    @Test
+    void gzipAndPlainDeleteTempFiles() throws Exception {
+        for (ExcelTempStorage storage : Arrays.asList(ExcelTempStorage.gzip(this.directory), ExcelTempStorage.plain(this.directory))) {
+            List<Order> orders = orders(200);
+            assertEquals(orders, write(storage, orders));
+            assertEquals(Collections.emptySet(), tempFiles(this.directory));
+        }
+    }
+
+    @Test
+    void memoryCreatesNoTempFiles() throws Exception {
+        File tmp = new File(System.getProperty("java.io.tmpdir"));
+        Set<String> before = tempFiles(tmp);
+        List<Order> orders = orders(200);
+
+        assertEquals(orders, write(ExcelTempStorage.memory(), orders));
+        assertEquals(before, tempFiles(tmp));
+    }
+
+    private static List<Order> write(ExcelTempStorage storage, List<Order> orders) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExcelUtils.writeExcel(out, storage, "订单", Excel.build(Order.class, orders));
+        return ExcelUtils.readStream(ExcelTestFiles.upload(out.toByteArray(), "orders.xlsx"), Order.class);
+    }
+
+    private static Set<String> tempFiles(File directory) {
+        String[] names = directory.list((dir, name) -> name.startsWith(ExcelTempStorage.FILE_PREFIX));
+        return null == names ? Collections.emptySet() : Arrays.stream(names).collect(Collectors.toSet());
+    }
+}
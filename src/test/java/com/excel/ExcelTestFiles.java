@@ -0,0 +1,38 @@
+package com.excel;
+
+import org.apache.poi.ss.usermodel.Workbook;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * 测试用上传文件
+ *
+ * @author: MingWei Yang
+ */
+final class ExcelTestFiles {
+
+    private ExcelTestFiles() {
+    }
+
+    /**
+     * 将工作簿写出为上传文件并关闭工作簿
+     *
+     * @param workbook
+     * @param fileName
+     * @return
+     * @throws IOException
+     */
+    static MockMultipartFile upload(Workbook workbook, String fileName) throws IOException {
+        try (Workbook book = workbook) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            book.write(out);
+            return upload(out.toByteArray(), fileName);
+        }
+    }
+
+    static MockMultipartFile upload(byte[] bytes, String fileName) {
+        return new MockMultipartFile("file", fileName, null, bytes);
+    }
+}
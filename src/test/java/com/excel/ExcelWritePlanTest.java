@@ -0,0 +1,23 @@
+package com.excel;
+
+import com.excel.bean.HiddenBeans;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 属性访问器
+ *
+ * @author: MingWei Yang
+ */
+class ExcelWritePlanTest {
+
+    @Test
+    void readsNonPublicBeans() {
+        Object bean = HiddenBeans.create("订单", 3);
+        ExcelWritePlan plan = ExcelWritePlan.of(bean.getClass());
+
+        assertEquals("订单", plan.getValue(plan.indexOf("name"), bean));
+        assertEquals(3, plan.getInt(plan.indexOf("amount"), bean));
+    }
+}
@@ -0,0 +1,42 @@
+package com.excel;
+
+import com.excel.ExcelUtils.ExcelWriter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.excel.ExcelXmlWriterTest.merge;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * ExcelWriter合并状态
+ *
+ * @author: MingWei Yang
+ */
+class ExcelWriterTest {
+
+    @Test
+    void resetDropsLongMerges() {
+        ExcelWriter writer = new ExcelWriter(true, "a");
+        writer.setPendingMerges(Collections.singletonList(merge(0, ExcelWriter.MAX_MERGE_WINDOW_SIZE + 10, 0, 0, "长区域")));
+
+        writer.setSheet("b");
+        writer.write(rows(10));
+        writer.flushPendingMerges();
+
+        assertEquals(0, writer.getSheet().getNumMergedRegions());
+        assertEquals(10, writer.getSheet().getPhysicalNumberOfRows());
+        writer.close();
+    }
+
+    private static List<List<String>> rows(int size) {
+        List<List<String>> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rows.add(Arrays.asList("行" + i, "值" + i));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,121 @@
+package com.excel;
+
+import com.excel.ExcelSaxReaderTest.Order;
+import com.excel.ExcelUtils.Excel;
+import com.excel.ExcelUtils.ExcelEngine;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.excel.ExcelSaxReaderTest.orders;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 各导出引擎写出后读回
+ *
+ * @author: MingWei Yang
+ */
+class ExcelXmlWriterTest {
+
+    @ParameterizedTest
+    @EnumSource(ExcelEngine.class)
+    void writesValuesDatesAndLongs(ExcelEngine engine) throws Exception {
+        List<Order> orders = orders(500);
+        MockMultipartFile file = export(engine, Excel.build(Order.class, orders));
+
+        assertEquals(orders, ExcelUtils.read(file, Order.class));
+        assertEquals(orders, ExcelUtils.readStream(file, Order.class));
+    }
+
+    @ParameterizedTest
+    @EnumSource(ExcelEngine.class)
+    void writesMerges(ExcelEngine engine) throws Exception {
+        List<ExcelUtilsMerge> merges = Arrays.asList(
+                merge(1, 3, 4, 4, "A组"),
+                merge(1, 1, 2, 3, null),
+                //数据行之后的区域
+                merge(12, 13, 1, 2, "合计"));
+        MockMultipartFile file = export(engine, new Excel<>(Order.class, orders(10), merges));
+
+        assertEquals(new HashSet<>(Arrays.asList("E2:E4", "C2:D2", "B13:C14")), regions(file));
+        //只有左上角单元格有值
+        List<Order> stream = ExcelUtils.readStream(file, Order.class);
+        assertEquals(11, stream.size());
+        assertEquals("A组", stream.get(0).getGroup());
+        assertEquals(0, stream.get(0).getAmount());
+        assertNull(stream.get(1).getGroup());
+        assertEquals("合计", stream.get(10).getName());
+    }
+
+    @ParameterizedTest
+    @EnumSource(ExcelEngine.class)
+    void writesMergesLongerThanWindow(ExcelEngine engine) throws Exception {
+        //超过窗口上限的合并区域
+        int rows = ExcelUtils.ExcelWriter.MAX_MERGE_WINDOW_SIZE + 500;
+        List<ExcelUtilsMerge> merges = Arrays.asList(merge(1, 3, 4, 4, "A组"), merge(4, rows, 4, 4, "B组"));
+        MockMultipartFile file = export(engine, new Excel<>(Order.class, orders(rows), merges));
+
+        assertEquals(new HashSet<>(Arrays.asList("E2:E4", "E5:E" + (rows + 1))), regions(file));
+        List<Order> stream = ExcelUtils.readStream(file, Order.class);
+        assertEquals(rows, stream.size());
+        assertEquals("B组", stream.get(3).getGroup());
+        assertNull(stream.get(rows - 1).getGroup());
+    }
+
+    @Test
+    void rejectsOverlappingMerges() {
+        List<ExcelUtilsMerge> overlap = Arrays.asList(merge(1, 3, 0, 1, null), merge(3, 5, 1, 2, null));
+        ExcelXmlWriter writer = new ExcelXmlWriter(new ByteArrayOutputStream());
+
+        assertThrows(IllegalStateException.class, () -> writer.write("订单", new Excel<>(Order.class, orders(10), overlap)));
+    }
+
+    @Test
+    void readParallelReturnsMutableList() throws Exception {
+        MockMultipartFile file = export(ExcelEngine.XML, Excel.build(Order.class, orders(10)));
+
+        List<Order> orders = ExcelUtils.readParallel(file, Order.class);
+        orders.add(new Order());
+
+        assertEquals(11, orders.size());
+    }
+
+    static MockMultipartFile export(ExcelEngine engine, Excel<?> excel) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ExcelUtils.exportExcel(response, engine, "订单", excel);
+        return ExcelTestFiles.upload(response.getContentAsByteArray(), "orders.xlsx");
+    }
+
+    static Set<String> regions(MockMultipartFile file) throws Exception {
+        Set<String> regions = new HashSet<>();
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(file.getBytes()))) {
+            for (CellRangeAddress region : workbook.getSheetAt(0).getMergedRegions()) {
+                regions.add(region.formatAsString());
+            }
+        }
+        return regions;
+    }
+
+    static ExcelUtilsMerge merge(int firstRow, int lastRow, int firstColumn, int lastColumn, Object content) {
+        ExcelUtilsMerge merge = new ExcelUtilsMerge();
+        merge.setFirstRow(firstRow);
+        merge.setLastRow(lastRow);
+        merge.setFirstColumn(firstColumn);
+        merge.setLastColumn(lastColumn);
+        merge.setContent(content);
+        return merge;
+    }
+}
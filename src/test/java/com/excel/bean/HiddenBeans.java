@@ -0,0 +1,48 @@
+package com.excel.bean;
+
+import com.excel.ExcelUtils.ExcelColumn;
+
+/**
+ * 其他包中的非public Bean
+ *
+ * @author: MingWei Yang
+ */
+public class HiddenBeans {
+
+    private HiddenBeans() {
+    }
+
+    /**
+     * 创建非public Bean
+     *
+     * @param name
+     * @param amount
+     * @return
+     */
+    public static Object create(String name, int amount) {
+        HiddenBean bean = new HiddenBean();
+        bean.setName(name);
+        bean.amount = amount;
+        return bean;
+    }
+
+    /**
+     * public getter，amount没有getter
+     */
+    static class HiddenBean {
+
+        @ExcelColumn(value = "名称", col = 0)
+        private String name;
+
+        @ExcelColumn(value = "数量", col = 1)
+        private int amount;
+
+        public String getName() {
+            return this.name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}